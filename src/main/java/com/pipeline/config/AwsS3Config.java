@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
@@ -22,6 +23,10 @@ public class AwsS3Config {
     @Value("${aws.s3.endpoint:}")
     private String endpoint;
 
+    // Keep this >= aws.s3.io-threads so parallel fetches never queue on the connection pool
+    @Value("${aws.s3.max-connections:50}")
+    private int maxConnections;
+
 //        @Value("${aws.s3.path-style-access:false}")
 //        private boolean pathStyle;
 
@@ -34,7 +39,9 @@ public class AwsS3Config {
 
     @Bean
     public S3Client s3Client() {
-        S3ClientBuilder builder = S3Client.builder().region(Region.of(awsRegion));
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(awsRegion))
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(maxConnections));
 
         if (accessKeyId != null && !accessKeyId.isBlank() && secretAccessKey != null && !secretAccessKey.isBlank()) {
             AwsBasicCredentials creds = AwsBasicCredentials.create(accessKeyId.trim(), secretAccessKey.trim());
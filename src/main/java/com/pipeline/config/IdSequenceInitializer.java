@@ -0,0 +1,45 @@
+package com.pipeline.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the pooled id sequences past ids already handed out by the old IDENTITY columns.
+ * ddl-auto creates the sequences starting at 1, which would collide with existing rows.
+ * Runs before the web server starts; a no-op once a sequence is ahead of its table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer {
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "pipelines", "pipelines_seq",
+            "pipeline_steps", "pipeline_steps_seq",
+            "s3_outbox", "s3_outbox_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected so the schema (and the sequences) exist before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // Highest value nextval has already returned (a fresh sequence returns last_value itself next)
+            Long consumed = jdbcTemplate.queryForObject("SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END FROM " + sequence, Long.class);
+            if (maxId != null && consumed != null && maxId > consumed) {
+                // The pooled optimizer hands out (value - allocationSize, value], so ids after setval(maxId) start at maxId + 1
+                jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, sequence, maxId);
+                log.info("Moved sequence {} past existing {} ids (max id {})", sequence, table, maxId);
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.pipeline.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index behind the pipeline list's name-prefix filter (name LIKE 'prefix%').
+ * A plain btree only serves LIKE under the C collation, so this one uses varchar_pattern_ops, which JPA's @Index
+ * cannot declare. Replaces the plain idx_pipelines_name that earlier versions created through ddl-auto.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineNameIndexInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected so the schema (the pipelines table) exists before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void createIndex() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_pipelines_name_pattern ON pipelines (name varchar_pattern_ops)");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_pipelines_name");
+    }
+}
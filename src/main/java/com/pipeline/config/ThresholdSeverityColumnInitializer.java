@@ -0,0 +1,40 @@
+package com.pipeline.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts de_approval_requests.threshold_severity from the ordinal earlier versions stored to the severity's name,
+ * copying the ordinal into threshold_severity_rank first (the ranks are the old ordinals), and drops the index on
+ * the ordinal column. ddl-auto adds the rank column and its index but never changes a column's type.
+ * Runs before the web server starts; a no-op once the column holds names.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ThresholdSeverityColumnInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected so the schema (the rank column) exists before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        List<String> types = jdbcTemplate.queryForList("SELECT data_type FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'de_approval_requests' AND column_name = 'threshold_severity'", String.class);
+        if (types.contains("smallint")) {
+            jdbcTemplate.execute("UPDATE de_approval_requests SET threshold_severity_rank = threshold_severity WHERE threshold_severity IS NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE de_approval_requests ALTER COLUMN threshold_severity TYPE varchar(255) USING " +
+                    "CASE threshold_severity WHEN 0 THEN 'WITHIN' WHEN 1 THEN 'LOW' WHEN 2 THEN 'MEDIUM' WHEN 3 THEN 'HIGH' END");
+            log.info("Converted de_approval_requests.threshold_severity from ordinals to names");
+        }
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_de_approval_requests_status_threshold_severity");
+    }
+}
@@ -4,11 +4,19 @@ import com.pipeline.dto.approval.ApprovalActionDto;
 import com.pipeline.dto.approval.ApprovalRequestDetailDto;
 import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
 import com.pipeline.dto.approval.ApprovalStatsDto;
+import com.pipeline.dto.approval.BulkApprovalActionDto;
+import com.pipeline.dto.approval.BulkApprovalResultDto;
 import com.pipeline.dto.approval.RecentDecisionDto;
+import com.pipeline.dto.approval.RecentDecisionPageDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.ThresholdSeverity;
+import com.pipeline.service.ApprovalEventService;
 import com.pipeline.service.ApprovalService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,24 +24,43 @@ import java.util.List;
  * Controller for DE team approval workflow
  */
 @RestController
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = ApprovalController.NEXT_CURSOR_HEADER)
 @RequestMapping("workflow-approval/approval-inbox")
 @RequiredArgsConstructor
 public class ApprovalController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ApprovalService approvalService;
+    private final ApprovalEventService approvalEventService;
 
     /**
      * Get all pending DE approval requests
      *
+     * @param minSeverity Optional; only requests at or above this threshold severity, ranked worst first
      * @return List of pending approvals
      */
     @GetMapping("/pending")
-    public ResponseEntity<List<ApprovalRequestSummaryDto>> getPendingApprovals() {
-        List<ApprovalRequestSummaryDto> approvals = approvalService.getPendingApprovals();
+    public ResponseEntity<List<ApprovalRequestSummaryDto>> getPendingApprovals(
+            @RequestParam(required = false) ThresholdSeverity minSeverity) {
+        List<ApprovalRequestSummaryDto> approvals = minSeverity != null ?
+                approvalService.getPendingApprovalsBySeverity(minSeverity) :
+                approvalService.getPendingApprovals();
         return ResponseEntity.ok(approvals);
     }
 
+    /**
+     * Stream approval inbox changes as Server-Sent Events
+     *
+     * @return A snapshot event (pending requests and stats), then created / approved / rejected /
+     * partially-approved events with the request summary, and sla-near-breach / sla-breached events
+     * when a pending request enters its SLA warning window or passes its deadline, each followed by a stats event
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return approvalEventService.subscribe();
+    }
+
     /**
      * Get DE approval request by ID
      *
@@ -91,6 +118,39 @@ public class ApprovalController {
         return ResponseEntity.ok(partialApproved);
     }
 
+    /**
+     * Approve many pending DE approval requests in one statement
+     *
+     * @param request Ids and the shared action details
+     * @return Updated, already decided and unknown ids
+     */
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<BulkApprovalResultDto> bulkApprove(@RequestBody BulkApprovalActionDto request) {
+        return ResponseEntity.ok(approvalService.bulkDecide(request, ApprovalStatus.APPROVED));
+    }
+
+    /**
+     * Reject many pending DE approval requests in one statement
+     *
+     * @param request Ids and the shared action details
+     * @return Updated, already decided and unknown ids
+     */
+    @PostMapping("/bulk/reject")
+    public ResponseEntity<BulkApprovalResultDto> bulkReject(@RequestBody BulkApprovalActionDto request) {
+        return ResponseEntity.ok(approvalService.bulkDecide(request, ApprovalStatus.REJECTED));
+    }
+
+    /**
+     * Partial approve many pending DE approval requests in one statement
+     *
+     * @param request Ids and the shared action details
+     * @return Updated, already decided and unknown ids
+     */
+    @PostMapping("/bulk/partial-approve")
+    public ResponseEntity<BulkApprovalResultDto> bulkPartialApprove(@RequestBody BulkApprovalActionDto request) {
+        return ResponseEntity.ok(approvalService.bulkDecide(request, ApprovalStatus.PARTIAL_APPROVAL));
+    }
+
     /**
      * Get approval statistics
      *
@@ -103,15 +163,23 @@ public class ApprovalController {
     }
 
     /**
-     * Get recent approval decisions filtered by time period
+     * Get recent approval decisions filtered by time period, newest first
      *
      * @param filter Time filter (LAST_24_HOURS, LAST_7_DAYS, LAST_1_MONTH) - default: LAST_7_DAYS
-     * @return List of recent decisions within the specified time period
+     * @param cursor X-Next-Cursor header of the previous page, to continue after it
+     * @param limit  Page size - default: 100, max: 500
+     * @return List of recent decisions within the specified time period; X-Next-Cursor is set when more follow
      */
     @GetMapping("/recent-decisions")
     public ResponseEntity<List<RecentDecisionDto>> getRecentDecisions(
-            @RequestParam(defaultValue = "LAST_7_DAYS") String filter) {
-        List<RecentDecisionDto> recentDecisions = approvalService.getRecentDecisionsByFilter(filter);
-        return ResponseEntity.ok(recentDecisions);
+            @RequestParam(defaultValue = "LAST_7_DAYS") String filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        RecentDecisionPageDto page = approvalService.getRecentDecisionsByFilter(filter, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
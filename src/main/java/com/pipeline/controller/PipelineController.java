@@ -1,15 +1,30 @@
 package com.pipeline.controller;
 
 
+import com.pipeline.dto.pipeline.PipelineFilterDto;
+import com.pipeline.dto.pipeline.PipelineImportResultDto;
+import com.pipeline.dto.pipeline.PipelinePageDto;
+import com.pipeline.dto.pipeline.PipelinePatchDto;
 import com.pipeline.dto.pipeline.PipelineRequestDto;
 import com.pipeline.dto.pipeline.PipelineResponseDto;
+import com.pipeline.dto.pipeline.PipelineStatusResultDto;
+import com.pipeline.dto.pipeline.PipelineStatusUpdateDto;
 import com.pipeline.dto.pipeline.PipelineSummaryDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
 import com.pipeline.service.PipelineService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -21,9 +36,43 @@ public class PipelineController {
 
     private final PipelineService pipelineService;
 
+    /**
+     * Filterable pipeline listing, most recently updated first, one keyset page at a time
+     *
+     * @param cursor X-Next-Cursor header of the previous page, to continue after it
+     * @param limit  Page size (default 50, max 200)
+     * @return Pipeline summaries of the page; X-Next-Cursor is set when more follow
+     */
     @GetMapping
-    public ResponseEntity<List<PipelineSummaryDto>> getAll() {
-        return ResponseEntity.ok(pipelineService.getAllPipelines());
+    public ResponseEntity<List<PipelineSummaryDto>> getAll(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int limit,
+                                                           @RequestParam(required = false) Boolean enabled,
+                                                           @RequestParam(required = false) ScheduleType scheduleType,
+                                                           @RequestParam(required = false) StepType stepType,
+                                                           @RequestParam(required = false) String namePrefix) {
+        PipelineFilterDto filter = PipelineFilterDto.builder().enabled(enabled).scheduleType(scheduleType).stepType(stepType).namePrefix(namePrefix).build();
+        PipelinePageDto page = pipelineService.getPipelinePage(filter, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(ApprovalController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Stream every pipeline as NDJSON (one pipeline with inline step configs per line), for backup or migration
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPipelines() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pipelines.ndjson\"").body(pipelineService::exportPipelines);
+    }
+
+    /**
+     * Create pipelines from an NDJSON stream in the export format
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<PipelineImportResultDto> importPipelines(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(pipelineService.importPipelines(request.getInputStream()));
     }
 
     @GetMapping("/{id}")
@@ -43,6 +92,22 @@ public class PipelineController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Partial update; send only the fields and steps that changed
+     */
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PipelineResponseDto> patch(@PathVariable Long id, @RequestBody PipelinePatchDto dto) {
+        return ResponseEntity.ok(pipelineService.patchPipeline(id, dto));
+    }
+
+    /**
+     * Enable or disable many pipelines at once, by ids and/or filter, in one statement
+     */
+    @PatchMapping(value = "/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PipelineStatusResultDto> updateStatus(@RequestBody PipelineStatusUpdateDto request) {
+        return ResponseEntity.ok(pipelineService.updateStatus(request));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<Void> toggle(@PathVariable Long id, @RequestParam boolean enabled) {
         pipelineService.togglePipeline(id, enabled);
@@ -55,6 +120,46 @@ public class PipelineController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Upload one step's config as raw bytes (JSON or YAML), validated as it streams to S3
+     */
+    @PutMapping(value = "/{id}/steps/{stepOrder}/config", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<Void> uploadStepConfig(@PathVariable Long id, @PathVariable int stepOrder, HttpServletRequest request) throws IOException {
+        pipelineService.uploadStepConfig(id, stepOrder, request.getInputStream(), ConfigType.fromContentType(request.getContentType()));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Download one step's config as raw bytes, streamed from S3 with ETag and Range support
+     */
+    @GetMapping("/{id}/steps/{stepOrder}/config")
+    public ResponseEntity<StreamingResponseBody> downloadStepConfig(@PathVariable Long id, @PathVariable int stepOrder,
+                                                                    @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        S3ObjectStreamDto object = pipelineService.openStepConfig(id, stepOrder, range, ifNoneMatch);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(object.getStatusCode()).header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (object.getETag() != null) {
+            response.eTag(object.getETag());
+        }
+        if (object.getBody() == null) {
+            return response.build(); // 304 Not Modified or 416 Range Not Satisfiable
+        }
+
+        response.contentType(MediaType.parseMediaType(object.getContentType()));
+        if (object.getContentLength() != null) {
+            response.contentLength(object.getContentLength());
+        }
+        if (object.getContentRange() != null) {
+            response.header(HttpHeaders.CONTENT_RANGE, object.getContentRange());
+        }
+        return response.body(out -> {
+            try (InputStream in = object.getBody()) {
+                in.transferTo(out);
+            }
+        });
+    }
+
     @PostMapping("/{id}/copy")
     public ResponseEntity<PipelineResponseDto> copy(@PathVariable Long id) {
         PipelineResponseDto created = pipelineService.copyPipeline(id);
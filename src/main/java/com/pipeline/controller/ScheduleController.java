@@ -0,0 +1,43 @@
+package com.pipeline.controller;
+
+import com.pipeline.dto.schedule.HourlyRunCountDto;
+import com.pipeline.dto.schedule.UpcomingRunDto;
+import com.pipeline.service.ScheduleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for upcoming scheduled pipeline runs, answered from the in-memory next-fire-time index
+ */
+@RestController
+@CrossOrigin("*")
+@RequestMapping("/schedules")
+@RequiredArgsConstructor
+public class ScheduleController {
+
+    private final ScheduleService scheduleService;
+
+    /**
+     * Get the scheduled runs of enabled pipelines in the next hours (at most one week)
+     *
+     * @return Runs in fire-time order, at most limit of them
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<UpcomingRunDto>> getUpcomingRuns(@RequestParam(defaultValue = "24") int hours,
+                                                                @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(scheduleService.getUpcomingRuns(hours, limit));
+    }
+
+    /**
+     * Get the number of scheduled runs per clock hour across all enabled pipelines
+     *
+     * @return One entry per hour, starting with the current hour (which counts only its remaining runs)
+     */
+    @GetMapping("/runs-per-hour")
+    public ResponseEntity<List<HourlyRunCountDto>> getRunsPerHour(@RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(scheduleService.getRunsPerHour(hours));
+    }
+}
@@ -0,0 +1,30 @@
+package com.pipeline.controller;
+
+import com.pipeline.dto.search.ConfigSearchResultDto;
+import com.pipeline.service.ConfigSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for searching step config contents across all pipelines
+ */
+@RestController
+@CrossOrigin("*")
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final ConfigSearchService configSearchService;
+
+    /**
+     * Find steps whose config mentions every term, e.g. "orders" or "table:orders bucket:raw-data"
+     *
+     * @return Matching pipelines and steps, answered from the in-memory index
+     */
+    @GetMapping("/configs")
+    public ResponseEntity<ConfigSearchResultDto> searchConfigs(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(configSearchService.search(q, limit));
+    }
+}
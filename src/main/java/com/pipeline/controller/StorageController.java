@@ -0,0 +1,29 @@
+package com.pipeline.controller;
+
+import com.pipeline.dto.storage.ConfigCacheStatsDto;
+import com.pipeline.service.CachingS3StorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for step config storage diagnostics
+ */
+@RestController
+@CrossOrigin("*")
+@RequestMapping("/storage")
+@RequiredArgsConstructor
+public class StorageController {
+
+    private final CachingS3StorageService cachingS3StorageService;
+
+    /**
+     * Get step config cache counters
+     *
+     * @return Hit/miss/eviction counts and current size, for sizing pipeline.config-cache.max-bytes
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ConfigCacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(cachingS3StorageService.getStats());
+    }
+}
@@ -0,0 +1,21 @@
+package com.pipeline.dto.approval;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Approval inbox state sent as the first event of an approval event stream
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApprovalInboxSnapshotDto {
+
+    private List<ApprovalRequestSummaryDto> pending;
+    private ApprovalStatsDto stats;
+}
@@ -1,12 +1,14 @@
 package com.pipeline.dto.approval;
 
 import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.ThresholdSeverity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * DTO for DE team approval request details
@@ -24,6 +26,8 @@ public class ApprovalRequestDetailDto {
     private String requestDescription;
     private String configurationDetails;
     private String actualThresholdValues;
+    private ThresholdSeverity thresholdSeverity;
+    private List<ThresholdResultDto> thresholdResults; // per metric, as evaluated when the request was ingested
     private ApprovalStatus status;
     private String reason;
     private String requestedBy;
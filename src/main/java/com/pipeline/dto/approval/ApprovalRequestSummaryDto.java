@@ -1,6 +1,8 @@
 package com.pipeline.dto.approval;
 
 import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.SlaStatus;
+import com.pipeline.enums.ThresholdSeverity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,7 +26,12 @@ public class ApprovalRequestSummaryDto {
     private ApprovalStatus status;
     private String pipelineRunId;
     private Instant slaDeadline;
+    private SlaStatus slaStatus; // pending requests with a deadline only, as counted in the stats; null otherwise
+    private boolean slaBreached; // still pending after its SLA deadline (slaStatus BREACHED)
     private Integer datasetCount;
     private Long totalRecords;
+    private ThresholdSeverity thresholdSeverity; // worst metric against the pipeline's thresholds; null if not evaluated
+    private Double thresholdOveragePercent;
+    private Integer thresholdBreachCount;
     private Instant createdAt;
 }
@@ -15,4 +15,6 @@ public class ApprovalStatsDto {
     private long approvedCount;
     private long rejectedCount;
     private long partialApprovalCount;
+    private long slaNearBreachCount; // pending requests inside the SLA warning window
+    private long slaBreachedCount;   // pending requests past their SLA deadline
 }
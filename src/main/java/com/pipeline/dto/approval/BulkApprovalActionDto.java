@@ -0,0 +1,21 @@
+package com.pipeline.dto.approval;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk approve/reject/partial approve request: one action (reviewer and reason) applied to every id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkApprovalActionDto {
+
+    private List<Long> ids;
+    private ApprovalActionDto action;
+}
@@ -0,0 +1,25 @@
+package com.pipeline.dto.approval;
+
+import com.pipeline.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-id outcome of a bulk approval action
+ * notPendingIds lists requests that were already decided (by someone else or earlier), and are left unchanged
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkApprovalResultDto {
+
+    private ApprovalStatus status;
+    private List<Long> updatedIds;
+    private List<Long> notPendingIds;
+    private List<Long> notFoundIds;
+}
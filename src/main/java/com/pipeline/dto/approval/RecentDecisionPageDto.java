@@ -0,0 +1,22 @@
+package com.pipeline.dto.approval;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of recent decisions, newest first
+ * nextCursor is null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecentDecisionPageDto {
+
+    private List<RecentDecisionDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.pipeline.dto.approval;
+
+import com.pipeline.enums.SlaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for a pending approval request that came near to or passed its SLA deadline
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlaAlertDto {
+
+    private Long approvalId;
+    private String pipelineId;
+    private String requestTitle;
+    private Instant slaDeadline;
+    private SlaStatus slaStatus;
+}
@@ -0,0 +1,25 @@
+package com.pipeline.dto.approval;
+
+import com.pipeline.enums.ThresholdMetric;
+import com.pipeline.enums.ThresholdSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one metric of an approval request compared against its pipeline's threshold
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThresholdResultDto {
+
+    private ThresholdMetric metric;
+    private String fieldName; // as in configurationDetails
+    private Double observedValue;
+    private Double thresholdValue;
+    private Double overagePercent;
+    private ThresholdSeverity severity;
+}
@@ -0,0 +1,23 @@
+package com.pipeline.dto.pipeline;
+
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Server-side filters for pipeline listing; null fields are not filtered on
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineFilterDto {
+
+    private Boolean enabled;
+    private ScheduleType scheduleType;
+    private StepType stepType; // pipelines having at least one step of this type
+    private String namePrefix;
+}
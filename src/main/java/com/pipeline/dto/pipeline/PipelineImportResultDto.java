@@ -0,0 +1,23 @@
+package com.pipeline.dto.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of an NDJSON pipeline import
+ * errors holds the first few failures, each prefixed with its line number(s)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineImportResultDto {
+
+    private int imported;
+    private int failed;
+    private List<String> errors;
+}
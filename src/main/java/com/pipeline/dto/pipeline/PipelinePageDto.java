@@ -0,0 +1,22 @@
+package com.pipeline.dto.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of pipeline summaries, most recently updated first
+ * nextCursor is null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelinePageDto {
+
+    private List<PipelineSummaryDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.pipeline.dto.pipeline;
+
+import com.pipeline.enums.ScheduleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Partial pipeline update; null fields leave the current value unchanged
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelinePatchDto {
+
+    private String name;
+    private String description;
+    private Boolean enabled;
+
+    private ScheduleType scheduleType;
+    private LocalTime scheduleTime;
+    private DayOfWeek scheduleDay;
+    private Integer scheduleDayOfMonth;
+    private String cronExpression;
+
+    // Steps to add or change, matched by stepOrder; null fields of an existing step are left unchanged
+    private List<PipelineStepDto> steps;
+
+    // Orders of steps to remove
+    private List<Integer> removeStepOrders;
+}
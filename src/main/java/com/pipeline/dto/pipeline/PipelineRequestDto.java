@@ -1,14 +1,18 @@
 package com.pipeline.dto.pipeline;
 
 import com.pipeline.enums.ScheduleType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class PipelineRequestDto {
 
@@ -0,0 +1,23 @@
+package com.pipeline.dto.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-id outcome of a bulk enable/disable
+ * notFoundIds lists requested ids that matched no pipeline (or were excluded by the filter)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineStatusResultDto {
+
+    private boolean enabled;
+    private List<Long> updatedIds;
+    private List<Long> notFoundIds;
+}
@@ -0,0 +1,22 @@
+package com.pipeline.dto.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk enable/disable request; targets the given ids, the pipelines matching the filter, or both combined
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineStatusUpdateDto {
+
+    private List<Long> ids;
+    private PipelineFilterDto filter;
+    private boolean enabled;
+}
@@ -0,0 +1,21 @@
+package com.pipeline.dto.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Number of scheduled runs across all enabled pipelines within one clock hour
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HourlyRunCountDto {
+
+    private Instant hourStart;
+    private int runs;
+}
@@ -0,0 +1,19 @@
+package com.pipeline.dto.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpcomingRunDto {
+
+    private Long pipelineId;
+    private String pipelineName;
+    private Instant fireTime;
+}
@@ -0,0 +1,21 @@
+package com.pipeline.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One step whose config matched every search term
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigSearchHitDto {
+
+    private Long pipelineId;
+    private String pipelineName;
+    private int stepOrder;
+    private String stepName;
+}
@@ -0,0 +1,21 @@
+package com.pipeline.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Config search matches ordered by pipeline and step; total counts all matches, hits is capped at the limit
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigSearchResultDto {
+
+    private int total;
+    private List<ConfigSearchHitDto> hits;
+}
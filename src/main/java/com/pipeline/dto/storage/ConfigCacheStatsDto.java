@@ -0,0 +1,27 @@
+package com.pipeline.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for step config cache counters, used to size the cache
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigCacheStatsDto {
+
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long evictionWeightBytes;
+    private long revalidationCount; // conditional GETs issued for stale entries
+    private long notModifiedCount;  // of which S3 answered 304
+    private long entryCount;
+    private long weightedSizeBytes;
+    private long maxWeightBytes;
+}
@@ -0,0 +1,21 @@
+package com.pipeline.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an S3 object read together with its ETag
+ * notModified is set (and content left null) when a conditional GET found the ETag unchanged
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class S3ObjectDto {
+
+    private String content;
+    private String eTag;
+    private boolean notModified;
+}
@@ -0,0 +1,27 @@
+package com.pipeline.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.InputStream;
+
+/**
+ * DTO for an S3 object opened for streaming to a client
+ * statusCode is the HTTP status to answer with (200, 206 for a range, 304 if the ETag matched, 416 for a bad range);
+ * body is only set for 200/206 and must be closed by the caller
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class S3ObjectStreamDto {
+
+    private int statusCode;
+    private InputStream body;
+    private String contentType;
+    private Long contentLength;
+    private String contentRange;
+    private String eTag;
+}
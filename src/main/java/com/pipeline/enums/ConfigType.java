@@ -1,6 +1,46 @@
 package com.pipeline.enums;
 
 public enum ConfigType {
-    JSON,
-    YAML
+    JSON("application/json", ".json"),
+    YAML("text/yaml", ".yaml");
+
+    private final String contentType;
+    private final String extension;
+
+    ConfigType(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * The given type, or JSON where none is set (configs stored before config types existed are JSON)
+     */
+    public static ConfigType orDefault(ConfigType configType) {
+        return configType != null ? configType : JSON;
+    }
+
+    /**
+     * Resolve from an HTTP Content-Type header; null if it names neither JSON nor YAML
+     */
+    public static ConfigType fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String type = contentType.toLowerCase();
+        if (type.contains("json")) {
+            return JSON;
+        }
+        if (type.contains("yaml") || type.contains("yml")) {
+            return YAML;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,7 @@
+package com.pipeline.enums;
+
+public enum S3OutboxOperation {
+    PUT,
+    COPY,
+    DELETE
+}
@@ -0,0 +1,7 @@
+package com.pipeline.enums;
+
+public enum SlaStatus {
+    ON_TRACK,
+    NEAR_BREACH,
+    BREACHED
+}
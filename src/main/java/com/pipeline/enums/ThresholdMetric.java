@@ -0,0 +1,30 @@
+package com.pipeline.enums;
+
+/**
+ * Data quality metrics of an approval request, named as in configurationDetails and the threshold snapshot
+ */
+public enum ThresholdMetric {
+    RECORD_COUNT_VARIANCE("recordCountVariancePercent", true),
+    VOLUME_ANOMALY_VS_BASELINE("volumeAnomalyVsBaselinePercent", true),
+    MANDATORY_COLUMN_NULLS("mandatoryColumnNullsPercent", false),
+    DUPLICATE_BUSINESS_KEYS("duplicateBusinessKeysPercent", false),
+    FORMAT_VIOLATIONS("formatViolationsPercent", false),
+    BREAKING_SCHEMA_CHANGES("breakingSchemaChangesAllowed", false),
+    DATA_FRESHNESS_DELAY("dataFreshnessDelayMinutes", false);
+
+    private final String fieldName;
+    private final boolean signed; // a deviation either way counts, so the magnitude is compared
+
+    ThresholdMetric(String fieldName, boolean signed) {
+        this.fieldName = fieldName;
+        this.signed = signed;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public boolean isSigned() {
+        return signed;
+    }
+}
@@ -0,0 +1,23 @@
+package com.pipeline.enums;
+
+/**
+ * How far a metric is over its threshold, least severe first.
+ * Stored by name on de_approval_requests, next to its rank (threshold_severity_rank) that SQL filters and ranks by.
+ * Ranks are explicit, so they survive reordering the constants; a new level gets a rank between its neighbours'.
+ */
+public enum ThresholdSeverity {
+    WITHIN(0),
+    LOW(1),    // up to 25% over the threshold
+    MEDIUM(2), // up to 100% over
+    HIGH(3);   // more than 100% over, or over a zero threshold
+
+    private final int rank;
+
+    ThresholdSeverity(int rank) {
+        this.rank = rank;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+}
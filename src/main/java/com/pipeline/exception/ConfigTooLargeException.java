@@ -0,0 +1,7 @@
+package com.pipeline.exception;
+
+public class ConfigTooLargeException extends RuntimeException {
+    public ConfigTooLargeException(int stepOrder, String configType, String limit) {
+        super("The " + configType + " config of step " + stepOrder + " is over the parse limits: " + limit);
+    }
+}
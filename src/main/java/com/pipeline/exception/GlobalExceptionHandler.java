@@ -3,6 +3,7 @@ package com.pipeline.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -16,6 +17,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(PipelineStepNotFoundException.class)
+    public ResponseEntity<String> handleStepNotFound(PipelineStepNotFoundException ex) {
+        log.error("Pipeline step not found", ex);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidStepConfigException.class)
+    public ResponseEntity<String> handleInvalidStepConfig(InvalidStepConfigException ex) {
+        log.error("Invalid step config", ex);
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ConfigTooLargeException.class)
+    public ResponseEntity<String> handleConfigTooLarge(ConfigTooLargeException ex) {
+        log.error("Step config too large", ex);
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedConfigTypeException.class)
+    public ResponseEntity<String> handleUnsupportedConfigType(UnsupportedConfigTypeException ex) {
+        log.error("Unsupported config type", ex);
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
         log.error("Validation error", ex);
@@ -46,6 +71,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConcurrentModification(ObjectOptimisticLockingFailureException ex) {
+        log.error("Concurrent modification", ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The record was changed by someone else; reload and try again");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneral(Exception ex) {
         log.error("Unexpected error", ex);
@@ -0,0 +1,9 @@
+package com.pipeline.exception;
+
+import java.util.List;
+
+public class InvalidStepConfigException extends RuntimeException {
+    public InvalidStepConfigException(int stepOrder, String configType, List<String> errors) {
+        super("Invalid " + configType + " config for step " + stepOrder + ": " + String.join("; ", errors));
+    }
+}
@@ -0,0 +1,7 @@
+package com.pipeline.exception;
+
+public class PipelineStepNotFoundException extends RuntimeException {
+    public PipelineStepNotFoundException(Long pipelineId, int stepOrder) {
+        super("Step " + stepOrder + " not found in pipeline with id: " + pipelineId);
+    }
+}
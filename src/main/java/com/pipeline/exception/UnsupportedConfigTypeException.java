@@ -0,0 +1,7 @@
+package com.pipeline.exception;
+
+public class UnsupportedConfigTypeException extends RuntimeException {
+    public UnsupportedConfigTypeException(int stepOrder) {
+        super("Step " + stepOrder + " has no config type; send its config as application/json or application/yaml");
+    }
+}
@@ -0,0 +1,45 @@
+package com.pipeline.model;
+
+import com.pipeline.enums.ApprovalStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One slot of the number of approval requests per status; a status's count is the sum of its slots
+ * Kept current by database triggers on de_approval_requests, so requests the DE team inserts directly are counted too.
+ * Each transaction adds to the slot its transaction id picks, so concurrent writers rarely wait on the same row.
+ */
+@Entity
+@Table(name = "approval_status_count_slots")
+@IdClass(ApprovalStatusCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApprovalStatusCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ApprovalStatus status;
+
+    @Id
+    @Column(columnDefinition = "smallint")
+    private int slot;
+
+    @Column(name = "request_count", nullable = false)
+    private long requestCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private ApprovalStatus status;
+        private int slot;
+    }
+}
@@ -0,0 +1,49 @@
+package com.pipeline.model;
+
+import com.pipeline.enums.ThresholdMetric;
+import com.pipeline.enums.ThresholdSeverity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity for one metric of an approval request compared against its pipeline's threshold
+ * Written once when the request is ingested, for every metric present in both configurationDetails and the thresholds
+ */
+@Entity
+@Table(name = "approval_threshold_results",
+       uniqueConstraints = @UniqueConstraint(name = "uk_approval_threshold_results_request_metric", columnNames = {"approval_request_id", "metric"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApprovalThresholdResult {
+
+    // Pooled sequence so the results of an evaluation batch are inserted as a single JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "approval_threshold_results_seq")
+    @SequenceGenerator(name = "approval_threshold_results_seq", sequenceName = "approval_threshold_results_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "approval_request_id", nullable = false)
+    private Long approvalRequestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ThresholdMetric metric;
+
+    @Column(name = "observed_value", nullable = false)
+    private Double observedValue;
+
+    @Column(name = "threshold_value", nullable = false)
+    private Double thresholdValue;
+
+    @Column(name = "overage_percent")
+    private Double overagePercent; // how far over the threshold; null when within it or the threshold is zero
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ThresholdSeverity severity;
+}
@@ -0,0 +1,43 @@
+package com.pipeline.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Entity tracking content-addressed step config objects in S3
+ * One row per distinct config (keyed by SHA-256), ref-counted across all pipeline steps using it
+ */
+@Entity
+@Table(name = "config_objects")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigObject {
+
+    @Id
+    @Column(name = "s3_key")
+    private String s3Key;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount; // Number of pipeline steps referencing this object
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+}
@@ -1,21 +1,29 @@
 package com.pipeline.model;
 
 import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.ThresholdSeverity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Entity for Data Engineering team approval requests
  * DE team inserts data here with PENDING status
  */
 @Entity
-@Table(name = "de_approval_requests")
+@Table(name = "de_approval_requests", indexes = {
+        @Index(name = "idx_de_approval_requests_status_created_at_id", columnList = "status, created_at DESC, id DESC"),
+        @Index(name = "idx_de_approval_requests_pipeline_status_created_at", columnList = "pipeline_id, status, created_at DESC"),
+        @Index(name = "idx_de_approval_requests_status_threshold_rank", columnList = "status, threshold_severity_rank DESC, threshold_overage_percent DESC, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -73,6 +81,36 @@ public class DEApprovalRequest {
     @Column(name = "reviewed_at")
     private Instant reviewedAt;
 
+    // Threshold evaluation of configurationDetails, written by ThresholdEvaluator when the request is ingested.
+    // Null severity: no thresholds or no comparable metrics. Read-only here so entity saves can't clear it.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "threshold_severity", insertable = false, updatable = false)
+    private ThresholdSeverity thresholdSeverity; // worst metric
+
+    @Column(name = "threshold_severity_rank", columnDefinition = "smallint", insertable = false, updatable = false)
+    private Integer thresholdSeverityRank; // ThresholdSeverity.getRank() of thresholdSeverity, which the inbox filters and ranks by
+
+    @Column(name = "threshold_overage_percent", insertable = false, updatable = false)
+    private Double thresholdOveragePercent; // furthest over any threshold; null when none is exceeded or only zero thresholds are
+
+    @Column(name = "threshold_breach_count", insertable = false, updatable = false)
+    private Integer thresholdBreachCount;
+
+    @Column(name = "thresholds_evaluated_at", insertable = false, updatable = false)
+    private Instant thresholdsEvaluatedAt;
+
+    // The per-metric results behind the fields above; only loaded when fetched with the request (findWithThresholdResultsById)
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "approval_request_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<ApprovalThresholdResult> thresholdResults;
+
+    // Optimistic lock; the default covers existing rows and rows the DE team inserts directly
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (status == null) {
@@ -19,12 +19,19 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "pipelines")
+@Table(name = "pipelines", indexes = {
+        @Index(name = "idx_pipelines_updated_at_id", columnList = "updated_at DESC, id DESC"),
+        @Index(name = "idx_pipelines_enabled_updated_at_id", columnList = "enabled, updated_at DESC, id DESC"),
+        @Index(name = "idx_pipelines_schedule_type_updated_at_id", columnList = "schedule_type, updated_at DESC, id DESC")
+        // name-prefix index: see PipelineNameIndexInitializer
+})
 @Builder(toBuilder = true)
 public class Pipeline {
 
+    // Pooled sequence (not IDENTITY) so inserts can be JDBC-batched; one sequence call per 50 ids
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pipelines_seq")
+    @SequenceGenerator(name = "pipelines_seq", sequenceName = "pipelines_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -15,12 +15,17 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "pipeline_steps")
+@Table(name = "pipeline_steps", indexes = {
+        @Index(name = "idx_pipeline_steps_pipeline_id_step_order", columnList = "pipeline_id, step_order"),
+        @Index(name = "idx_pipeline_steps_step_type_pipeline_id", columnList = "step_type, pipeline_id")
+})
 @Builder(toBuilder = true)
 public class PipelineStep {
 
+    // Pooled sequence (not IDENTITY) so inserts can be JDBC-batched; one sequence call per 50 ids
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pipeline_steps_seq")
+    @SequenceGenerator(name = "pipeline_steps_seq", sequenceName = "pipeline_steps_seq", allocationSize = 50)
     private Long id;
 
     private String stepName;
@@ -0,0 +1,72 @@
+package com.pipeline.model;
+
+import com.pipeline.enums.S3OutboxOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Entity for S3 side effects (puts, copies and deletes) waiting to be applied
+ * Written in the same transaction as the pipeline change, so S3 only ever sees committed changes;
+ * rows are removed once applied and retried with backoff otherwise, up to a maximum number of attempts
+ * after which they are dead-lettered (kept, but no longer claimed)
+ */
+@Entity
+@Table(name = "s3_outbox",
+       indexes = {
+               @Index(name = "idx_s3_outbox_due", columnList = "dead_lettered_at, next_attempt_at"),
+               @Index(name = "idx_s3_outbox_s3_key", columnList = "s3_key")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class S3OutboxEntry {
+
+    // Pooled sequence so the entries queued by one save are inserted as a single JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "s3_outbox_seq")
+    @SequenceGenerator(name = "s3_outbox_seq", sequenceName = "s3_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private S3OutboxOperation operation;
+
+    @Column(name = "s3_key", nullable = false, length = 1024)
+    private String s3Key;
+
+    @Column(name = "source_key", length = 1024)
+    private String sourceKey; // COPY only - copied to s3_key, then deleted
+
+    @Column(name = "content_type")
+    private String contentType; // PUT only
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload; // PUT only - content to upload
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Set while a worker applies the entry; next_attempt_at is then the lease expiry
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "dead_lettered_at")
+    private Instant deadLetteredAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,19 @@
+package com.pipeline.repository;
+
+import com.pipeline.model.ApprovalStatusCount;
+import com.pipeline.repository.projection.ApprovalStatusCountView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApprovalStatusCountRepository extends JpaRepository<ApprovalStatusCount, ApprovalStatusCount.Key> {
+
+    /**
+     * Counted requests per status, summed over the slots
+     */
+    @Query("SELECT c.status AS status, SUM(c.requestCount) AS requestCount FROM ApprovalStatusCount c GROUP BY c.status")
+    List<ApprovalStatusCountView> sumGroupByStatus();
+}
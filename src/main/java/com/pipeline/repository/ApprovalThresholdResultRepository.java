@@ -0,0 +1,9 @@
+package com.pipeline.repository;
+
+import com.pipeline.model.ApprovalThresholdResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApprovalThresholdResultRepository extends JpaRepository<ApprovalThresholdResult, Long> {
+}
@@ -0,0 +1,50 @@
+package com.pipeline.repository;
+
+import com.pipeline.model.ConfigObject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for ConfigObject reference counts
+ * All mutations are single atomic statements so concurrent saves never lose a reference
+ */
+@Repository
+public interface ConfigObjectRepository extends JpaRepository<ConfigObject, String> {
+
+    /**
+     * Insert the object with one reference, or add a reference if it already exists; true if this call inserted it.
+     * One statement under the row lock, so a concurrent release can't delete the row between checking for it and
+     * taking the reference (xmax is 0 only on a freshly inserted row version).
+     * Declared as touching config_objects only, so it does not force an early flush of pending pipeline/step inserts
+     * (which would break up their JDBC batches)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "config_objects"))
+    @Query(value = "INSERT INTO config_objects (s3_key, content_hash, content_type, size_bytes, ref_count, created_at) " +
+            "VALUES (:s3Key, :contentHash, :contentType, :sizeBytes, 1, now()) " +
+            "ON CONFLICT (s3_key) DO UPDATE SET ref_count = config_objects.ref_count + 1 RETURNING (xmax = 0)", nativeQuery = true)
+    boolean acquire(@Param("s3Key") String s3Key,
+                    @Param("contentHash") String contentHash,
+                    @Param("contentType") String contentType,
+                    @Param("sizeBytes") long sizeBytes);
+
+    /**
+     * Add a reference to an object that is already stored; returns 0 if it is not tracked
+     */
+    @Modifying
+    @Query("UPDATE ConfigObject c SET c.refCount = c.refCount + 1 WHERE c.s3Key = :s3Key")
+    int addReference(@Param("s3Key") String s3Key);
+
+    @Modifying
+    @Query("UPDATE ConfigObject c SET c.refCount = c.refCount - 1 WHERE c.s3Key = :s3Key")
+    int release(@Param("s3Key") String s3Key);
+
+    @Modifying
+    @Query("DELETE FROM ConfigObject c WHERE c.s3Key = :s3Key AND c.refCount <= 0")
+    int deleteIfUnreferenced(@Param("s3Key") String s3Key);
+}
@@ -2,30 +2,95 @@ package com.pipeline.repository;
 
 import com.pipeline.enums.ApprovalStatus;
 import com.pipeline.model.DEApprovalRequest;
+import com.pipeline.repository.projection.ApprovalStatusCountView;
+import com.pipeline.repository.projection.RecentDecisionView;
+import com.pipeline.repository.projection.SlaDeadlineView;
+import com.pipeline.repository.projection.ThresholdInputView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DEApprovalRequestRepository extends JpaRepository<DEApprovalRequest, Long> {
+public interface DEApprovalRequestRepository extends JpaRepository<DEApprovalRequest, Long>, DEApprovalRequestRepositoryCustom {
 
     List<DEApprovalRequest> findByStatus(ApprovalStatus status);
 
+    /**
+     * The request with its threshold results, in one query
+     */
+    @Query("SELECT d FROM DEApprovalRequest d LEFT JOIN FETCH d.thresholdResults WHERE d.id = :id")
+    Optional<DEApprovalRequest> findWithThresholdResultsById(@Param("id") Long id);
+
     long countByStatus(ApprovalStatus status);
 
+    /**
+     * Requests with the given status at or above the severity rank minRank, worst first: by severity, then by how far over
+     * a threshold (zero-threshold breaches, with no percentage, rank first). Served in order by the severity rank index.
+     */
+    @Query("SELECT d FROM DEApprovalRequest d WHERE d.status = :status AND d.thresholdSeverityRank >= :minRank " +
+            "ORDER BY d.thresholdSeverityRank DESC, d.thresholdOveragePercent DESC NULLS FIRST, d.id")
+    List<DEApprovalRequest> findRankedBySeverity(@Param("status") ApprovalStatus status, @Param("minRank") int minRank);
+
+    /**
+     * Inputs of the given requests that have the status and no threshold evaluation yet
+     */
+    List<ThresholdInputView> findByIdInAndStatusAndThresholdsEvaluatedAtIsNull(Collection<Long> ids, ApprovalStatus status);
+
+    /**
+     * As above, for the requests after the given id, oldest first; backfills evaluations at startup
+     */
+    List<ThresholdInputView> findByIdGreaterThanAndStatusAndThresholdsEvaluatedAtIsNullOrderByIdAsc(Long id, ApprovalStatus status, Limit limit);
+
+    /**
+     * Requests inserted after the given id, oldest first
+     */
+    List<DEApprovalRequest> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<DEApprovalRequest> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(d.id), 0) FROM DEApprovalRequest d")
+    long findMaxId();
+
+    @Query("SELECT d.id FROM DEApprovalRequest d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Requests per status in one pass over the table; reconciles the approval status count slots
+     */
+    @Query("SELECT d.status AS status, COUNT(d) AS requestCount FROM DEApprovalRequest d GROUP BY d.status")
+    List<ApprovalStatusCountView> countGroupByStatus();
+
+    /**
+     * SLA deadlines of the requests with the given status; loads the SLA monitor at startup
+     */
+    List<SlaDeadlineView> findByStatusAndSlaDeadlineIsNotNull(ApprovalStatus status);
+
+    List<SlaDeadlineView> findByIdInAndStatus(Collection<Long> ids, ApprovalStatus status);
+
     Optional<DEApprovalRequest> findFirstByPipelineIdAndStatusOrderByCreatedAtDesc(String pipelineId, ApprovalStatus status);
 
-    @Query("SELECT d FROM DEApprovalRequest d WHERE d.status IN :statuses ORDER BY d.createdAt DESC")
-    List<DEApprovalRequest> findRecentDecisions(List<ApprovalStatus> statuses);
+    /**
+     * Newest decisions with the given status created since startTime, in (createdAt DESC, id DESC) order.
+     * One status per query so each is a bounded range scan of (status, created_at, id).
+     */
+    @Query("SELECT d.id AS id, d.pipelineId AS pipelineId, d.stage AS stage, d.status AS status, d.reason AS reason, d.reviewedAt AS reviewedAt, d.createdAt AS createdAt " +
+            "FROM DEApprovalRequest d WHERE d.status = :status AND d.createdAt >= :startTime ORDER BY d.createdAt DESC, d.id DESC")
+    List<RecentDecisionView> findDecisions(@Param("status") ApprovalStatus status, @Param("startTime") Instant startTime, Limit limit);
 
-    @Query("SELECT d FROM DEApprovalRequest d WHERE d.status IN :statuses AND d.createdAt >= :startTime ORDER BY d.createdAt DESC")
-    List<DEApprovalRequest> findRecentDecisionsByTimePeriod(
-            @Param("statuses") List<ApprovalStatus> statuses,
-            @Param("startTime") Instant startTime
-    );
+    /**
+     * As findDecisions, continuing after the keyset position (createdAt, id).
+     * The redundant createdAt bound lets the index scan start at the cursor instead of filtering its way there.
+     */
+    @Query("SELECT d.id AS id, d.pipelineId AS pipelineId, d.stage AS stage, d.status AS status, d.reason AS reason, d.reviewedAt AS reviewedAt, d.createdAt AS createdAt " +
+            "FROM DEApprovalRequest d WHERE d.status = :status AND d.createdAt >= :startTime " +
+            "AND d.createdAt <= :createdAt AND (d.createdAt < :createdAt OR d.id < :id) ORDER BY d.createdAt DESC, d.id DESC")
+    List<RecentDecisionView> findDecisionsBefore(@Param("status") ApprovalStatus status, @Param("startTime") Instant startTime,
+                                                 @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,17 @@
+package com.pipeline.repository;
+
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.model.DEApprovalRequest;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface DEApprovalRequestRepositoryCustom {
+
+    /**
+     * Move every request with one of the ids that is still PENDING to the given status, in one set-based
+     * conditional statement. Returns the updated requests; ids that were not pending are left untouched.
+     */
+    List<DEApprovalRequest> decidePending(Collection<Long> ids, ApprovalStatus status, String reason, String reviewedBy, Instant reviewedAt);
+}
@@ -0,0 +1,37 @@
+package com.pipeline.repository;
+
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.model.DEApprovalRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based status transitions for DEApprovalRequestRepository
+ */
+public class DEApprovalRequestRepositoryImpl implements DEApprovalRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<DEApprovalRequest> decidePending(Collection<Long> ids, ApprovalStatus status, String reason, String reviewedBy, Instant reviewedAt) {
+        // Native so RETURNING hands back the updated rows from the same statement; the PENDING condition makes
+        // each transition happen at most once however many reviewers act on the same request. The version is
+        // bumped like a JPA update would, so an entity loaded before the transition can't be saved over it.
+        return entityManager.createNativeQuery(
+                        "UPDATE de_approval_requests SET status = :status, reason = :reason, reviewed_by = :reviewedBy, reviewed_at = :reviewedAt, " +
+                                "version = version + 1 " +
+                                "WHERE id IN (:ids) AND status = 'PENDING' RETURNING *", DEApprovalRequest.class)
+                .setParameter("status", status.name())
+                .setParameter("reason", reason)
+                .setParameter("reviewedBy", reviewedBy)
+                .setParameter("reviewedAt", reviewedAt)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
@@ -1,7 +1,30 @@
 package com.pipeline.repository;
 
 import com.pipeline.model.Pipeline;
+import com.pipeline.repository.projection.PipelineScheduleView;
+import com.pipeline.repository.projection.PipelineSummaryView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PipelineRepository extends JpaRepository<Pipeline, Long> {
+import java.util.Collection;
+import java.util.List;
+
+public interface PipelineRepository extends JpaRepository<Pipeline, Long>, PipelineRepositoryCustom {
+
+    /**
+     * Summary columns and step count for the given pipelines in one statement, without loading any entities
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.enabled AS enabled, " +
+            "p.scheduleType AS scheduleType, p.scheduleTime AS scheduleTime, p.scheduleDay AS scheduleDay, " +
+            "p.scheduleDayOfMonth AS scheduleDayOfMonth, p.cronExpression AS cronExpression, COUNT(s.id) AS stepCount " +
+            "FROM Pipeline p LEFT JOIN p.steps s WHERE p.id IN :ids GROUP BY p.id")
+    List<PipelineSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Schedule columns of every enabled pipeline, for the next-fire-time index
+     */
+    List<PipelineScheduleView> findSchedulesByEnabledTrue();
+
+    List<PipelineScheduleView> findSchedulesByIdInAndEnabledTrue(Collection<Long> ids);
 }
@@ -0,0 +1,32 @@
+package com.pipeline.repository;
+
+import com.pipeline.dto.pipeline.PipelineFilterDto;
+import com.pipeline.model.Pipeline;
+import com.pipeline.repository.projection.PipelineKey;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface PipelineRepositoryCustom {
+
+    /**
+     * Keys of the next page of pipelines matching the filter, ordered by (updatedAt DESC, id DESC)
+     * and starting strictly after the given position (null for the first page)
+     */
+    List<PipelineKey> findPageKeys(PipelineFilterDto filter, PipelineKey after, int limit);
+
+    /**
+     * Walk every pipeline in id order over a forward-only database cursor, handing them to the handler in chunks.
+     * The persistence context is cleared after each chunk, so memory stays flat however many pipelines there are.
+     * Must run inside a transaction (Postgres only streams with a fetch size when autocommit is off).
+     */
+    void scrollAll(int chunkSize, Consumer<List<Pipeline>> chunkHandler);
+
+    /**
+     * Set enabled (and updatedAt) on every pipeline with one of the ids and/or matching the filter, in one
+     * set-based statement without loading any entities. Returns the ids of the updated pipelines.
+     */
+    List<Long> updateEnabled(Collection<Long> ids, PipelineFilterDto filter, boolean enabled, Instant updatedAt);
+}
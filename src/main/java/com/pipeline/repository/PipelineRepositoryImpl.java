@@ -0,0 +1,131 @@
+package com.pipeline.repository;
+
+import com.pipeline.dto.pipeline.PipelineFilterDto;
+import com.pipeline.model.Pipeline;
+import com.pipeline.repository.projection.PipelineKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keyset pagination, full-table scrolling and filtered bulk updates for PipelineRepository
+ * Only the filters that are set end up in the query, so each combination can use its matching index
+ * (see the indexes declared on Pipeline and PipelineStep)
+ */
+public class PipelineRepositoryImpl implements PipelineRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PipelineKey> findPageKeys(PipelineFilterDto filter, PipelineKey after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.pipeline.repository.projection.PipelineKey(p.id, p.updatedAt) FROM Pipeline p WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter != null) {
+            if (filter.getEnabled() != null) {
+                jpql.append(" AND p.enabled = :enabled");
+                params.put("enabled", filter.getEnabled());
+            }
+            if (filter.getScheduleType() != null) {
+                jpql.append(" AND p.scheduleType = :scheduleType");
+                params.put("scheduleType", filter.getScheduleType());
+            }
+            if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+                jpql.append(" AND p.name LIKE :namePrefix ESCAPE '!'");
+                params.put("namePrefix", escapeLike(filter.getNamePrefix()) + "%");
+            }
+            if (filter.getStepType() != null) {
+                jpql.append(" AND EXISTS (SELECT 1 FROM PipelineStep s WHERE s.pipeline = p AND s.stepType = :stepType)");
+                params.put("stepType", filter.getStepType());
+            }
+        }
+
+        if (after != null) {
+            // The redundant updatedAt bound lets the index scan start at the cursor instead of filtering its way there
+            jpql.append(" AND p.updatedAt <= :afterUpdatedAt AND (p.updatedAt < :afterUpdatedAt OR p.id < :afterId)");
+            params.put("afterUpdatedAt", after.updatedAt());
+            params.put("afterId", after.id());
+        }
+        jpql.append(" ORDER BY p.updatedAt DESC, p.id DESC");
+
+        TypedQuery<PipelineKey> query = entityManager.createQuery(jpql.toString(), PipelineKey.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public void scrollAll(int chunkSize, Consumer<List<Pipeline>> chunkHandler) {
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults<Pipeline> rows = session.createSelectionQuery("SELECT p FROM Pipeline p ORDER BY p.id", Pipeline.class)
+                .setFetchSize(chunkSize).setReadOnly(true).scroll(ScrollMode.FORWARD_ONLY)) {
+            List<Pipeline> chunk = new ArrayList<>(chunkSize);
+            while (rows.next()) {
+                chunk.add(rows.get());
+                if (chunk.size() == chunkSize) {
+                    chunkHandler.accept(chunk);
+                    chunk.clear();
+                    session.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunkHandler.accept(chunk);
+                session.clear();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> updateEnabled(Collection<Long> ids, PipelineFilterDto filter, boolean enabled, Instant updatedAt) {
+        // Native so RETURNING reports the updated ids from the same statement
+        StringBuilder sql = new StringBuilder("UPDATE pipelines p SET enabled = :enabled, updated_at = :updatedAt WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        params.put("enabled", enabled);
+        params.put("updatedAt", updatedAt);
+
+        if (ids != null && !ids.isEmpty()) {
+            sql.append(" AND p.id IN (:ids)");
+            params.put("ids", ids);
+        }
+        if (filter != null) {
+            if (filter.getEnabled() != null) {
+                sql.append(" AND p.enabled = :filterEnabled");
+                params.put("filterEnabled", filter.getEnabled());
+            }
+            if (filter.getScheduleType() != null) {
+                sql.append(" AND p.schedule_type = :scheduleType");
+                params.put("scheduleType", filter.getScheduleType().name());
+            }
+            if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+                sql.append(" AND p.name LIKE :namePrefix ESCAPE '!'");
+                params.put("namePrefix", escapeLike(filter.getNamePrefix()) + "%");
+            }
+            if (filter.getStepType() != null) {
+                sql.append(" AND EXISTS (SELECT 1 FROM pipeline_steps s WHERE s.pipeline_id = p.id AND s.step_type = :stepType)");
+                params.put("stepType", filter.getStepType().name());
+            }
+        }
+        sql.append(" RETURNING p.id");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
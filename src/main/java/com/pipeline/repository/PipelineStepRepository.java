@@ -1,7 +1,35 @@
 package com.pipeline.repository;
 
 import com.pipeline.model.PipelineStep;
+import com.pipeline.repository.projection.PipelineStepTypeView;
+import com.pipeline.repository.projection.StepConfigView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface PipelineStepRepository extends JpaRepository<PipelineStep, Long> {
+
+    Optional<PipelineStep> findByPipelineIdAndStepOrder(Long pipelineId, int stepOrder);
+
+    List<PipelineStep> findByPipelineIdInOrderByPipelineIdAscStepOrderAsc(Collection<Long> pipelineIds);
+
+    /**
+     * Next page (by step id) of steps with a config (a stored copy or an S3 key), for building the config search index
+     */
+    @Query("SELECT s.id AS id, s.pipeline.id AS pipelineId, s.pipeline.name AS pipelineName, s.stepOrder AS stepOrder, " +
+            "s.stepName AS stepName, s.configType AS configType, s.configContent AS configContent, s.configS3Key AS configS3Key " +
+            "FROM PipelineStep s WHERE s.id > :afterId AND (s.configContent IS NOT NULL OR s.configS3Key IS NOT NULL) ORDER BY s.id")
+    List<StepConfigView> findConfigViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Distinct step types per given pipeline, in order of first use, computed in SQL (config content is never read)
+     */
+    @Query("SELECT s.pipeline.id AS pipelineId, s.stepType AS stepType FROM PipelineStep s WHERE s.pipeline.id IN :pipelineIds " +
+            "GROUP BY s.pipeline.id, s.stepType ORDER BY s.pipeline.id, MIN(s.stepOrder)")
+    List<PipelineStepTypeView> findDistinctStepTypesByPipelineIdIn(@Param("pipelineIds") Collection<Long> pipelineIds);
 }
@@ -0,0 +1,70 @@
+package com.pipeline.repository;
+
+import com.pipeline.model.S3OutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface S3OutboxEntryRepository extends JpaRepository<S3OutboxEntry, Long> {
+
+    /**
+     * Claim due entries (including those whose lease expired) of keys no worker holds a live lease on;
+     * SKIP LOCKED lets parallel workers (and pods) take disjoint batches
+     */
+    @Query(value = "SELECT * FROM s3_outbox e WHERE e.dead_lettered_at IS NULL AND e.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM s3_outbox o WHERE o.s3_key = e.s3_key AND o.lease_token IS NOT NULL AND o.next_attempt_at > :now) " +
+            "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<S3OutboxEntry> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Take a transaction-scoped advisory lock per key of the given entries, in a fixed order so two batches sharing
+     * keys can't deadlock
+     */
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(h) FROM " +
+            "(SELECT DISTINCT hashtextextended(s3_key, 0) AS h FROM s3_outbox WHERE id IN (:ids) ORDER BY h) AS keys) AS locked",
+            nativeQuery = true)
+    long lockKeys(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keys among the given ones that another worker holds a live lease on; checked again under the key locks,
+     * since a concurrent claim may have leased them after claimDue read its snapshot
+     */
+    @Query(value = "SELECT DISTINCT s3_key FROM s3_outbox WHERE s3_key IN (:keys) AND lease_token IS NOT NULL AND next_attempt_at > :now",
+            nativeQuery = true)
+    List<String> findLeasedKeys(@Param("keys") Collection<String> keys, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE S3OutboxEntry e SET e.leaseToken = :token, e.nextAttemptAt = :leasedUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("leasedUntil") Instant leasedUntil);
+
+    /**
+     * Bring forward entries that are waiting (not leased or dead-lettered)
+     */
+    @Modifying
+    @Query("UPDATE S3OutboxEntry e SET e.nextAttemptAt = :now WHERE e.id IN :ids AND e.leaseToken IS NULL AND e.deadLetteredAt IS NULL")
+    int makeDue(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /**
+     * Remove applied entries, unless their lease expired and another worker took them over
+     */
+    @Modifying
+    @Query("DELETE FROM S3OutboxEntry e WHERE e.id IN :ids AND e.leaseToken = :token")
+    int deleteLeased(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    @Modifying
+    @Query("UPDATE S3OutboxEntry e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error, " +
+            "e.leaseToken = NULL WHERE e.id = :id AND e.leaseToken = :token")
+    int scheduleRetry(@Param("id") Long id, @Param("token") String token, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE S3OutboxEntry e SET e.attempts = e.attempts + 1, e.deadLetteredAt = :now, e.lastError = :error, " +
+            "e.leaseToken = NULL WHERE e.id = :id AND e.leaseToken = :token")
+    int deadLetter(@Param("id") Long id, @Param("token") String token, @Param("now") Instant now, @Param("error") String error);
+}
@@ -4,6 +4,8 @@ import com.pipeline.model.WorkflowThresholdConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,4 +22,6 @@ public interface WorkflowThresholdConfigRepository extends JpaRepository<Workflo
      * @return Optional containing the config if found
      */
     Optional<WorkflowThresholdConfig> findByPipelineId(String pipelineId);
+
+    List<WorkflowThresholdConfig> findByPipelineIdIn(Collection<String> pipelineIds);
 }
@@ -0,0 +1,13 @@
+package com.pipeline.repository.projection;
+
+import com.pipeline.enums.ApprovalStatus;
+
+/**
+ * Number of approval requests with one status
+ */
+public interface ApprovalStatusCountView {
+
+    ApprovalStatus getStatus();
+
+    long getRequestCount();
+}
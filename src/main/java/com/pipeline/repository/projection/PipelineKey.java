@@ -0,0 +1,9 @@
+package com.pipeline.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Keyset position of a pipeline in (updatedAt DESC, id DESC) order
+ */
+public record PipelineKey(Long id, Instant updatedAt) {
+}
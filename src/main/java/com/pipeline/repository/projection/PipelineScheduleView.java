@@ -0,0 +1,26 @@
+package com.pipeline.repository.projection;
+
+import com.pipeline.enums.ScheduleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Projection of the pipeline columns that define its schedule, for building the next-fire-time index
+ */
+public interface PipelineScheduleView {
+
+    Long getId();
+
+    String getName();
+
+    ScheduleType getScheduleType();
+
+    LocalTime getScheduleTime();
+
+    DayOfWeek getScheduleDay();
+
+    Integer getScheduleDayOfMonth();
+
+    String getCronExpression();
+}
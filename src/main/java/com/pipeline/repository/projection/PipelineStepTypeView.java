@@ -0,0 +1,13 @@
+package com.pipeline.repository.projection;
+
+import com.pipeline.enums.StepType;
+
+/**
+ * Projection of one distinct step type used by a pipeline
+ */
+public interface PipelineStepTypeView {
+
+    Long getPipelineId();
+
+    StepType getStepType();
+}
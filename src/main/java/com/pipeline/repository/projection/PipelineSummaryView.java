@@ -0,0 +1,32 @@
+package com.pipeline.repository.projection;
+
+import com.pipeline.enums.ScheduleType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Projection of pipeline columns needed for the summary list, plus the step count computed in SQL
+ */
+public interface PipelineSummaryView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    boolean isEnabled();
+
+    ScheduleType getScheduleType();
+
+    LocalTime getScheduleTime();
+
+    DayOfWeek getScheduleDay();
+
+    Integer getScheduleDayOfMonth();
+
+    String getCronExpression();
+
+    long getStepCount();
+}
@@ -0,0 +1,25 @@
+package com.pipeline.repository.projection;
+
+import com.pipeline.enums.ApprovalStatus;
+
+import java.time.Instant;
+
+/**
+ * Projection of the approval request columns shown in the recent decisions panel
+ */
+public interface RecentDecisionView {
+
+    Long getId();
+
+    String getPipelineId();
+
+    String getStage();
+
+    ApprovalStatus getStatus();
+
+    String getReason();
+
+    Instant getReviewedAt();
+
+    Instant getCreatedAt();
+}
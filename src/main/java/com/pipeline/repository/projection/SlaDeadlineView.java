@@ -0,0 +1,17 @@
+package com.pipeline.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Projection of the approval request columns the SLA monitor tracks
+ */
+public interface SlaDeadlineView {
+
+    Long getId();
+
+    String getPipelineId();
+
+    String getRequestTitle();
+
+    Instant getSlaDeadline();
+}
@@ -0,0 +1,25 @@
+package com.pipeline.repository.projection;
+
+import com.pipeline.enums.ConfigType;
+
+/**
+ * Projection of a step's stored config (or, for a streamed config, its S3 key) with its pipeline's id and name, for building the config search index
+ */
+public interface StepConfigView {
+
+    Long getId();
+
+    Long getPipelineId();
+
+    String getPipelineName();
+
+    int getStepOrder();
+
+    String getStepName();
+
+    ConfigType getConfigType();
+
+    String getConfigContent();
+
+    String getConfigS3Key();
+}
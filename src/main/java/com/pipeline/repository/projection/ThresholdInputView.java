@@ -0,0 +1,13 @@
+package com.pipeline.repository.projection;
+
+/**
+ * Projection of the approval request columns the threshold evaluator reads
+ */
+public interface ThresholdInputView {
+
+    Long getId();
+
+    String getPipelineId();
+
+    String getConfigurationDetails();
+}
@@ -0,0 +1,12 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+
+import java.util.List;
+
+/**
+ * Application event for approval requests that were created or changed status, carrying their state afterwards.
+ * Published inside the changing transaction; listeners act on it after commit.
+ */
+public record ApprovalChangedEvent(List<ApprovalRequestSummaryDto> requests) {
+}
@@ -0,0 +1,15 @@
+package com.pipeline.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service for pushing approval inbox changes to reviewers over Server-Sent Events
+ */
+public interface ApprovalEventService {
+
+    /**
+     * Subscribe to the approval inbox: a snapshot event, then one event per new or decided request
+     * and per SLA warning or breach, each followed by a stats event
+     */
+    SseEmitter subscribe();
+}
@@ -0,0 +1,309 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.approval.ApprovalInboxSnapshotDto;
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import com.pipeline.dto.approval.SlaAlertDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.SlaStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans approval changes out to all SSE subscribers from one change feed, so database load does not grow with the
+ * number of open inboxes. Decisions arrive as ApprovalChangedEvents from ApprovalService; requests the DE team
+ * inserts directly are picked up by a single poller that follows the highest request id seen. Ids are taken at
+ * insert, not at commit, so ids it skips over are looked for again on later polls until they show up or expire.
+ * Every subscriber has a bounded buffer drained by a small sender pool; a subscriber that falls behind by a
+ * full buffer is disconnected, and its EventSource reconnects to a fresh snapshot. An event is built once and the
+ * built frame shared by every subscriber's buffer; a builder is not safe to share, as building it appends to it.
+ * Events carry the request's full summary and can be applied idempotently by id.
+ */
+@Service
+@Slf4j
+public class ApprovalEventServiceImpl implements ApprovalEventService {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String STATS_EVENT = "stats";
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final int MAX_OPEN_GAPS = 10_000;
+
+    private final ApprovalService approvalService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+
+    @Value("${pipeline.approval-events.client-buffer-size:256}")
+    private int clientBufferSize;
+
+    @Value("${pipeline.approval-events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    // How long a skipped id is looked for; longer than any inserting transaction runs, as rolled back ids never show up
+    @Value("${pipeline.approval-events.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    // Only touched by the poller (and init), which never runs concurrently with itself
+    private long lastSeenId;
+
+    // Ids below lastSeenId not seen yet, with when they were first missed (epoch ms)
+    private final Map<Long, Long> openGaps = new LinkedHashMap<>();
+
+    public ApprovalEventServiceImpl(ApprovalService approvalService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${pipeline.approval-events.sender-threads:4}") int senderThreads) {
+        this.approvalService = approvalService;
+        this.eventPublisher = eventPublisher;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "approval-events-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void init() {
+        lastSeenId = approvalService.getLatestRequestId();
+        // Inserts still in flight now can commit below the starting id
+        long from = Math.max(0, lastSeenId - POLL_BATCH_SIZE);
+        long previousId = from;
+        for (ApprovalRequestSummaryDto request : approvalService.getRequestsAfter(from, POLL_BATCH_SIZE)) {
+            openGaps(previousId, request.getId(), System.currentTimeMillis());
+            previousId = request.getId();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registered before the snapshot is read, so a change committed meanwhile is queued behind it, not lost
+        subscribers.add(subscriber);
+        ApprovalInboxSnapshotDto snapshot = ApprovalInboxSnapshotDto.builder()
+                .pending(approvalService.getPendingApprovals())
+                .stats(approvalService.getApprovalStats())
+                .build();
+        subscriber.start(build(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot)));
+        log.info("Approval event subscriber connected ({} open)", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Broadcast committed changes; one stats read per change set, however many subscribers there are
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApprovalChanged(ApprovalChangedEvent event) {
+        if (subscribers.isEmpty() || event.requests().isEmpty()) {
+            return;
+        }
+        for (ApprovalRequestSummaryDto request : event.requests()) {
+            broadcast(SseEmitter.event().name(eventName(request.getStatus())).data(request));
+        }
+        broadcast(SseEmitter.event().name(STATS_EVENT).data(approvalService.getApprovalStats()));
+    }
+
+    /**
+     * Broadcast requests that came near to or passed their SLA deadline, with the stats that count them
+     */
+    @EventListener
+    public void onSlaAlert(SlaAlertEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (SlaAlertDto alert : event.alerts()) {
+            broadcast(SseEmitter.event().name(eventName(alert.getSlaStatus())).data(alert));
+        }
+        broadcast(SseEmitter.event().name(STATS_EVENT).data(approvalService.getApprovalStats()));
+    }
+
+    /**
+     * Publish requests committed since the last poll. Requests only ever get new ids, so this reads
+     * a short range of the primary key, plus the ids skipped over that are still open, rather than the pending set.
+     */
+    @Scheduled(fixedDelayString = "${pipeline.approval-events.poll-interval-ms:2000}")
+    public void pollNewRequests() {
+        pollOpenGaps();
+
+        List<ApprovalRequestSummaryDto> created;
+        do {
+            created = approvalService.getRequestsAfter(lastSeenId, POLL_BATCH_SIZE);
+            if (created.isEmpty()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (ApprovalRequestSummaryDto request : created) {
+                openGaps(lastSeenId, request.getId(), now);
+                lastSeenId = request.getId();
+            }
+            eventPublisher.publishEvent(new ApprovalChangedEvent(created));
+        } while (created.size() == POLL_BATCH_SIZE);
+    }
+
+    /**
+     * Publish skipped-over requests whose transactions have committed since, and stop looking for expired ids
+     */
+    private void pollOpenGaps() {
+        long expiredBefore = System.currentTimeMillis() - gapTimeoutMs;
+        openGaps.values().removeIf(missedAt -> missedAt < expiredBefore);
+
+        List<Long> ids = List.copyOf(openGaps.keySet());
+        for (int from = 0; from < ids.size(); from += POLL_BATCH_SIZE) {
+            List<ApprovalRequestSummaryDto> committed = approvalService.getRequestsByIds(ids.subList(from, Math.min(from + POLL_BATCH_SIZE, ids.size())));
+            if (!committed.isEmpty()) {
+                committed.forEach(request -> openGaps.remove(request.getId()));
+                eventPublisher.publishEvent(new ApprovalChangedEvent(committed));
+            }
+        }
+    }
+
+    /**
+     * Look for the ids strictly between afterId and nextId on later polls
+     */
+    private void openGaps(long afterId, long nextId, long missedAt) {
+        for (long id = afterId + 1; id < nextId; id++) {
+            if (openGaps.size() == MAX_OPEN_GAPS) {
+                log.warn("More than {} approval request ids skipped; not looking for ids {} to {}", MAX_OPEN_GAPS, id, nextId - 1);
+                return;
+            }
+            openGaps.putIfAbsent(id, missedAt);
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies, and find subscribers that went away
+     */
+    @Scheduled(fixedDelayString = "${pipeline.approval-events.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        broadcast(SseEmitter.event().comment("heartbeat"));
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = build(event);
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> build(SseEmitter.SseEventBuilder event) {
+        return Collections.unmodifiableSet(event.build());
+    }
+
+    private static String eventName(ApprovalStatus status) {
+        return switch (status) {
+            case PENDING -> "created";
+            case APPROVED -> "approved";
+            case REJECTED -> "rejected";
+            case PARTIAL_APPROVAL -> "partially-approved";
+        };
+    }
+
+    private static String eventName(SlaStatus status) {
+        return switch (status) {
+            case ON_TRACK -> "sla-on-track";
+            case NEAR_BREACH -> "sla-near-breach";
+            case BREACHED -> "sla-breached";
+        };
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingDeque<Set<ResponseBodyEmitter.DataWithMediaType>> buffer = new LinkedBlockingDeque<>(clientBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean started;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queue the snapshot ahead of any change buffered while it was read, and start sending
+         */
+        void start(Set<ResponseBodyEmitter.DataWithMediaType> snapshot) {
+            if (!buffer.offerFirst(snapshot)) {
+                disconnect();
+                return;
+            }
+            started = true;
+            scheduleDrain();
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!buffer.offer(event)) {
+                disconnect();
+                return;
+            }
+            if (started) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Approval event subscriber went away", e);
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before draining was cleared
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void disconnect() {
+            if (subscribers.remove(this)) {
+                log.info("Approval event subscriber fell {} events behind; disconnecting", clientBufferSize);
+                emitter.complete();
+            }
+        }
+    }
+}
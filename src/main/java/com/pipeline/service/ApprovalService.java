@@ -4,8 +4,14 @@ import com.pipeline.dto.approval.ApprovalActionDto;
 import com.pipeline.dto.approval.ApprovalRequestDetailDto;
 import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
 import com.pipeline.dto.approval.ApprovalStatsDto;
+import com.pipeline.dto.approval.BulkApprovalActionDto;
+import com.pipeline.dto.approval.BulkApprovalResultDto;
 import com.pipeline.dto.approval.RecentDecisionDto;
+import com.pipeline.dto.approval.RecentDecisionPageDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.ThresholdSeverity;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +24,26 @@ public interface ApprovalService {
      */
     List<ApprovalRequestSummaryDto> getPendingApprovals();
 
+    /**
+     * Get pending approval requests at or above a threshold severity, worst first
+     */
+    List<ApprovalRequestSummaryDto> getPendingApprovalsBySeverity(ThresholdSeverity minSeverity);
+
+    /**
+     * Get requests inserted after the given request ID, oldest first
+     */
+    List<ApprovalRequestSummaryDto> getRequestsAfter(long afterId, int limit);
+
+    /**
+     * Get the requests with the given IDs that exist, oldest first
+     */
+    List<ApprovalRequestSummaryDto> getRequestsByIds(Collection<Long> ids);
+
+    /**
+     * Get the highest request ID (0 if there are none)
+     */
+    long getLatestRequestId();
+
     /**
      * Get approval request by ID
      */
@@ -38,6 +64,11 @@ public interface ApprovalService {
      */
     ApprovalRequestSummaryDto partialApproveRequest(Long id, ApprovalActionDto actionDto);
 
+    /**
+     * Apply one decision (APPROVED, REJECTED or PARTIAL_APPROVAL) to many pending requests at once
+     */
+    BulkApprovalResultDto bulkDecide(BulkApprovalActionDto request, ApprovalStatus status);
+
     /**
      * Get approval statistics
      */
@@ -49,7 +80,7 @@ public interface ApprovalService {
     List<RecentDecisionDto> getRecentDecisions(int limit);
 
     /**
-     * Get recent decisions filtered by time period
+     * Get one page of recent decisions filtered by time period; pass nextCursor from the previous page to continue
      */
-    List<RecentDecisionDto> getRecentDecisionsByFilter(String filter);
+    RecentDecisionPageDto getRecentDecisionsByFilter(String filter, String cursor, int limit);
 }
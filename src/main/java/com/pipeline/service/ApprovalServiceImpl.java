@@ -4,22 +4,39 @@ import com.pipeline.dto.approval.ApprovalActionDto;
 import com.pipeline.dto.approval.ApprovalRequestDetailDto;
 import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
 import com.pipeline.dto.approval.ApprovalStatsDto;
+import com.pipeline.dto.approval.BulkApprovalActionDto;
+import com.pipeline.dto.approval.BulkApprovalResultDto;
 import com.pipeline.dto.approval.RecentDecisionDto;
+import com.pipeline.dto.approval.RecentDecisionPageDto;
+import com.pipeline.dto.approval.ThresholdResultDto;
 import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.SlaStatus;
+import com.pipeline.enums.ThresholdSeverity;
 import com.pipeline.enums.TimeFilter;
+import com.pipeline.exception.ApprovalNotFoundException;
+import com.pipeline.exception.InvalidApprovalStatusException;
+import com.pipeline.model.ApprovalThresholdResult;
 import com.pipeline.model.DEApprovalRequest;
 import com.pipeline.repository.DEApprovalRequestRepository;
-import com.pipeline.repository.WorkflowThresholdConfigRepository;
+import com.pipeline.repository.projection.RecentDecisionView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +44,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ApprovalServiceImpl implements ApprovalService {
 
+    private static final List<ApprovalStatus> DECISION_STATUSES = List.of(
+            ApprovalStatus.APPROVED,
+            ApprovalStatus.REJECTED,
+            ApprovalStatus.PARTIAL_APPROVAL
+    );
+
+    private static final Comparator<RecentDecisionView> NEWEST_FIRST =
+            Comparator.comparing(RecentDecisionView::getCreatedAt).thenComparing(RecentDecisionView::getId).reversed();
+
+    private static final int MAX_DECISION_PAGE_SIZE = 500;
+
+    private static final int MAX_BULK_IDS = 5000;
+
     private final DEApprovalRequestRepository approvalRepository;
-    private final WorkflowThresholdConfigRepository workflowThresholdConfigRepository;
+    private final ThresholdSnapshotCache thresholdSnapshotCache;
+    private final ApprovalStatusCounter approvalStatusCounter;
+    private final SlaMonitorService slaMonitorService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ApprovalRequestSummaryDto> getPendingApprovals() {
@@ -38,16 +71,49 @@ public class ApprovalServiceImpl implements ApprovalService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ApprovalRequestSummaryDto> getPendingApprovalsBySeverity(ThresholdSeverity minSeverity) {
+        log.info("Fetching pending DE approval requests at or above {} threshold severity", minSeverity);
+        return approvalRepository.findRankedBySeverity(ApprovalStatus.PENDING, minSeverity.getRank()).stream()
+                .map(this::mapToSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ApprovalRequestSummaryDto> getRequestsAfter(long afterId, int limit) {
+        return approvalRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+                .map(this::mapToSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ApprovalRequestSummaryDto> getRequestsByIds(Collection<Long> ids) {
+        return approvalRepository.findByIdInOrderByIdAsc(ids).stream()
+                .map(this::mapToSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long getLatestRequestId() {
+        return approvalRepository.findMaxId();
+    }
+
     @Override
     public ApprovalRequestDetailDto getApprovalById(Long id) {
         log.info("Fetching DE approval request by ID: {}", id);
-        DEApprovalRequest approval = approvalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Approval request not found: " + id));
+        // Threshold results are joined in, so a detail view is a single query
+        DEApprovalRequest approval = approvalRepository.findWithThresholdResultsById(id)
+                .orElseThrow(() -> new ApprovalNotFoundException(id));
 
-        // Fetch actual threshold values from WorkflowThresholdConfig
-        String actualThresholdValues = fetchActualThresholdValues(approval.getPipelineId());
+        // Threshold values from WorkflowThresholdConfig, serialized once per pipeline
+        String actualThresholdValues = thresholdSnapshotCache.get(approval.getPipelineId());
 
-        return mapToDetailDto(approval, actualThresholdValues);
+        List<ThresholdResultDto> thresholdResults = approval.getThresholdResults().stream()
+                .sorted(Comparator.comparing(ApprovalThresholdResult::getMetric))
+                .map(this::mapToThresholdResultDto)
+                .collect(Collectors.toList());
+
+        return mapToDetailDto(approval, actualThresholdValues, thresholdResults);
     }
 
     @Override
@@ -55,22 +121,10 @@ public class ApprovalServiceImpl implements ApprovalService {
     public ApprovalRequestSummaryDto approveRequest(Long id, ApprovalActionDto actionDto) {
         log.info("Approving DE approval request ID: {}", id);
 
-        DEApprovalRequest approval = approvalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Approval request not found: " + id));
-
-        if (approval.getStatus() != ApprovalStatus.PENDING) {
-            throw new RuntimeException("Approval request is not in PENDING status. Current status: " + approval.getStatus());
-        }
-
-        approval.setStatus(ApprovalStatus.APPROVED);
-        approval.setReason(actionDto.getReason());
-        approval.setReviewedBy(actionDto.getReviewedBy());
-        approval.setReviewedAt(Instant.now());
-
-        approvalRepository.save(approval);
+        ApprovalRequestSummaryDto approved = decide(id, ApprovalStatus.APPROVED, actionDto);
         log.info("DE approval request approved: {}", id);
 
-        return mapToSummaryDto(approval);
+        return approved;
     }
 
     @Override
@@ -78,22 +132,10 @@ public class ApprovalServiceImpl implements ApprovalService {
     public ApprovalRequestSummaryDto rejectRequest(Long id, ApprovalActionDto actionDto) {
         log.info("Rejecting DE approval request ID: {}", id);
 
-        DEApprovalRequest approval = approvalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Approval request not found: " + id));
-
-        if (approval.getStatus() != ApprovalStatus.PENDING) {
-            throw new RuntimeException("Approval request is not in PENDING status. Current status: " + approval.getStatus());
-        }
-
-        approval.setStatus(ApprovalStatus.REJECTED);
-        approval.setReason(actionDto.getReason());
-        approval.setReviewedBy(actionDto.getReviewedBy());
-        approval.setReviewedAt(Instant.now());
-
-        approvalRepository.save(approval);
+        ApprovalRequestSummaryDto rejected = decide(id, ApprovalStatus.REJECTED, actionDto);
         log.info("DE approval request rejected: {}", id);
 
-        return mapToSummaryDto(approval);
+        return rejected;
     }
 
     @Override
@@ -101,38 +143,71 @@ public class ApprovalServiceImpl implements ApprovalService {
     public ApprovalRequestSummaryDto partialApproveRequest(Long id, ApprovalActionDto actionDto) {
         log.info("Partial approving DE approval request ID: {}", id);
 
-        DEApprovalRequest approval = approvalRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Approval request not found: " + id));
+        ApprovalRequestSummaryDto partialApproved = decide(id, ApprovalStatus.PARTIAL_APPROVAL, actionDto);
+        log.info("DE approval request partially approved: {}", id);
 
-        if (approval.getStatus() != ApprovalStatus.PENDING) {
-            throw new RuntimeException("Approval request is not in PENDING status. Current status: " + approval.getStatus());
-        }
+        return partialApproved;
+    }
 
-        approval.setStatus(ApprovalStatus.PARTIAL_APPROVAL);
-        approval.setReason(actionDto.getReason());
-        approval.setReviewedBy(actionDto.getReviewedBy());
-        approval.setReviewedAt(Instant.now());
+    @Override
+    @Transactional
+    public BulkApprovalResultDto bulkDecide(BulkApprovalActionDto request, ApprovalStatus status) {
+        if (status == ApprovalStatus.PENDING) {
+            throw new IllegalArgumentException("A bulk approval action must decide requests, not reset them to PENDING");
+        }
+        List<Long> ids = request.getIds() == null ? List.of() : request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("A bulk approval action needs at least one id");
+        }
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("A bulk approval action takes at most " + MAX_BULK_IDS + " ids");
+        }
+        ApprovalActionDto action = request.getAction() != null ? request.getAction() : new ApprovalActionDto();
+        log.info("Bulk {} of {} DE approval requests", status, ids.size());
+
+        // One conditional UPDATE for all ids; requests another reviewer already decided simply don't match
+        List<DEApprovalRequest> updated = approvalRepository.decidePending(ids, status, action.getReason(), action.getReviewedBy(), Instant.now());
+        Set<Long> updatedIds = updated.stream().map(DEApprovalRequest::getId).collect(Collectors.toSet());
+
+        List<Long> notPendingIds = List.of();
+        List<Long> notFoundIds = List.of();
+        if (updatedIds.size() < ids.size()) {
+            // Only partial success costs a second query, to tell decided requests from missing ones
+            List<Long> remaining = ids.stream().filter(id -> !updatedIds.contains(id)).toList();
+            Set<Long> existing = new HashSet<>(approvalRepository.findExistingIds(remaining));
+            notPendingIds = remaining.stream().filter(existing::contains).toList();
+            notFoundIds = remaining.stream().filter(id -> !existing.contains(id)).toList();
+        }
+        log.info("Bulk {}: {} updated, {} not pending, {} not found", status, updatedIds.size(), notPendingIds.size(), notFoundIds.size());
 
-        approvalRepository.save(approval);
-        log.info("DE approval request partially approved: {}", id);
+        eventPublisher.publishEvent(new ApprovalChangedEvent(updated.stream().map(this::mapToSummaryDto).toList()));
 
-        return mapToSummaryDto(approval);
+        return BulkApprovalResultDto.builder()
+                .status(status)
+                .updatedIds(ids.stream().filter(updatedIds::contains).toList())
+                .notPendingIds(notPendingIds)
+                .notFoundIds(notFoundIds)
+                .build();
     }
 
     @Override
     public ApprovalStatsDto getApprovalStats() {
         log.info("Fetching DE approval statistics");
 
-        long pendingCount = approvalRepository.countByStatus(ApprovalStatus.PENDING);
-        long approvedCount = approvalRepository.countByStatus(ApprovalStatus.APPROVED);
-        long rejectedCount = approvalRepository.countByStatus(ApprovalStatus.REJECTED);
-        long partialApprovalCount = approvalRepository.countByStatus(ApprovalStatus.PARTIAL_APPROVAL);
+        // Counter rows kept current by triggers, instead of a count over the table per status
+        Map<ApprovalStatus, Long> counts = approvalStatusCounter.getCounts();
+        long pendingCount = counts.getOrDefault(ApprovalStatus.PENDING, 0L);
+        long approvedCount = counts.getOrDefault(ApprovalStatus.APPROVED, 0L);
+        long rejectedCount = counts.getOrDefault(ApprovalStatus.REJECTED, 0L);
+        long partialApprovalCount = counts.getOrDefault(ApprovalStatus.PARTIAL_APPROVAL, 0L);
 
         return ApprovalStatsDto.builder()
                 .pendingCount(pendingCount)
                 .approvedCount(approvedCount)
                 .rejectedCount(rejectedCount)
                 .partialApprovalCount(partialApprovalCount)
+                .slaNearBreachCount(slaMonitorService.getNearBreachCount())
+                .slaBreachedCount(slaMonitorService.getBreachedCount())
                 .build();
     }
 
@@ -140,46 +215,93 @@ public class ApprovalServiceImpl implements ApprovalService {
     public List<RecentDecisionDto> getRecentDecisions(int limit) {
         log.info("Fetching recent {} DE decisions", limit);
 
-        List<ApprovalStatus> decisionStatuses = Arrays.asList(
-                ApprovalStatus.APPROVED,
-                ApprovalStatus.REJECTED,
-                ApprovalStatus.PARTIAL_APPROVAL
-        );
-
-        List<DEApprovalRequest> recentApprovals = approvalRepository.findRecentDecisions(decisionStatuses);
-
-        return recentApprovals.stream()
-                .limit(limit)
+        return findDecisions(Instant.EPOCH, null, clampPageSize(limit)).stream()
                 .map(this::mapToRecentDecisionDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<RecentDecisionDto> getRecentDecisionsByFilter(String filter) {
+    public RecentDecisionPageDto getRecentDecisionsByFilter(String filter, String cursor, int limit) {
         log.info("Fetching recent DE decisions with filter: {}", filter);
 
         TimeFilter timeFilter = TimeFilter.fromString(filter);
         Instant startTime = timeFilter.getStartTime();
+        int pageSize = clampPageSize(limit);
 
-        List<ApprovalStatus> decisionStatuses = Arrays.asList(
-                ApprovalStatus.APPROVED,
-                ApprovalStatus.REJECTED,
-                ApprovalStatus.PARTIAL_APPROVAL
-        );
-
-        List<DEApprovalRequest> recentApprovals = approvalRepository.findRecentDecisionsByTimePeriod(
-                decisionStatuses,
-                startTime
-        );
+        // Fetch one extra decision to know whether another page follows
+        List<RecentDecisionView> recentApprovals = findDecisions(startTime, decodeCursor(cursor), pageSize + 1);
+        boolean hasMore = recentApprovals.size() > pageSize;
+        if (hasMore) {
+            recentApprovals = recentApprovals.subList(0, pageSize);
+        }
 
         log.info("Found {} decisions in the {} period", recentApprovals.size(), timeFilter.getDisplayName());
 
-        return recentApprovals.stream()
-                .map(this::mapToRecentDecisionDto)
-                .collect(Collectors.toList());
+        return RecentDecisionPageDto.builder()
+                .items(recentApprovals.stream().map(this::mapToRecentDecisionDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(recentApprovals.get(recentApprovals.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * The newest count decisions created since startTime (and after the cursor, if any).
+     * Each decision status is read with its own bounded index range scan, and the (at most 3 * count) rows are
+     * merged here, so the cost stays proportional to count however much history the table holds.
+     */
+    private List<RecentDecisionView> findDecisions(Instant startTime, DecisionKey after, int count) {
+        Limit limit = Limit.of(count);
+        List<RecentDecisionView> decisions = new ArrayList<>();
+        for (ApprovalStatus status : DECISION_STATUSES) {
+            decisions.addAll(after == null
+                    ? approvalRepository.findDecisions(status, startTime, limit)
+                    : approvalRepository.findDecisionsBefore(status, startTime, after.createdAt(), after.id(), limit));
+        }
+        decisions.sort(NEWEST_FIRST);
+        return decisions.size() > count ? decisions.subList(0, count) : decisions;
+    }
+
+    private static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_DECISION_PAGE_SIZE));
+    }
+
+    private static String encodeCursor(RecentDecisionView decision) {
+        String raw = decision.getCreatedAt() + "|" + decision.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DecisionKey decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new DecisionKey(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid recent decisions cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Move one request out of PENDING with a single conditional UPDATE. The status check and the write are one
+     * statement, so of two reviewers deciding the same request at once exactly one succeeds; the other waits
+     * only for that statement's row lock, then finds the request no longer pending.
+     */
+    private ApprovalRequestSummaryDto decide(Long id, ApprovalStatus status, ApprovalActionDto actionDto) {
+        List<DEApprovalRequest> updated = approvalRepository.decidePending(List.of(id), status, actionDto.getReason(), actionDto.getReviewedBy(), Instant.now());
+        if (updated.isEmpty()) {
+            DEApprovalRequest current = approvalRepository.findById(id).orElseThrow(() -> new ApprovalNotFoundException(id));
+            throw new InvalidApprovalStatusException("Approval request is not in PENDING status. Current status: " + current.getStatus());
+        }
+
+        ApprovalRequestSummaryDto summary = mapToSummaryDto(updated.get(0));
+        eventPublisher.publishEvent(new ApprovalChangedEvent(List.of(summary)));
+        return summary;
     }
 
     private ApprovalRequestSummaryDto mapToSummaryDto(DEApprovalRequest entity) {
+        SlaStatus slaStatus = entity.getStatus() == ApprovalStatus.PENDING && entity.getSlaDeadline() != null ?
+                slaMonitorService.statusAt(entity.getSlaDeadline(), Instant.now()) : null;
         return ApprovalRequestSummaryDto.builder()
                 .id(entity.getId())
                 .pipelineId(entity.getPipelineId())
@@ -188,13 +310,18 @@ public class ApprovalServiceImpl implements ApprovalService {
                 .status(entity.getStatus())
                 .pipelineRunId(entity.getPipelineRunId())
                 .slaDeadline(entity.getSlaDeadline())
+                .slaStatus(slaStatus)
+                .slaBreached(slaStatus == SlaStatus.BREACHED)
                 .datasetCount(entity.getDatasetCount())
                 .totalRecords(entity.getTotalRecords())
+                .thresholdSeverity(entity.getThresholdSeverity())
+                .thresholdOveragePercent(entity.getThresholdOveragePercent())
+                .thresholdBreachCount(entity.getThresholdBreachCount())
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
 
-    private ApprovalRequestDetailDto mapToDetailDto(DEApprovalRequest entity, String actualThresholdValues) {
+    private ApprovalRequestDetailDto mapToDetailDto(DEApprovalRequest entity, String actualThresholdValues, List<ThresholdResultDto> thresholdResults) {
         return ApprovalRequestDetailDto.builder()
                 .id(entity.getId())
                 .pipelineId(entity.getPipelineId())
@@ -203,6 +330,8 @@ public class ApprovalServiceImpl implements ApprovalService {
                 .requestDescription(entity.getRequestDescription())
                 .configurationDetails(entity.getConfigurationDetails())
                 .actualThresholdValues(actualThresholdValues)
+                .thresholdSeverity(entity.getThresholdSeverity())
+                .thresholdResults(thresholdResults)
                 .status(entity.getStatus())
                 .reason(entity.getReason())
                 .requestedBy(entity.getRequestedBy())
@@ -216,59 +345,31 @@ public class ApprovalServiceImpl implements ApprovalService {
                 .build();
     }
 
-    /**
-     * Fetch actual threshold values from WorkflowThresholdConfig for the pipeline
-     * Returns JSON string with field names matching configurationDetails for easy UI comparison
-     */
-    private String fetchActualThresholdValues(String pipelineId) {
-        log.debug("Fetching actual threshold values for pipeline: {}", pipelineId);
-
-        return workflowThresholdConfigRepository.findByPipelineId(pipelineId)
-                .map(config -> {
-                    Map<String, Object> thresholds = new HashMap<>();
-
-                    // Use field names matching configurationDetails (without "Threshold" suffix)
-                    if (config.getRecordCountVariancePercent() != null) {
-                        thresholds.put("recordCountVariancePercent", config.getRecordCountVariancePercent());
-                    }
-                    if (config.getVolumeAnomalyVsBaselinePercent() != null) {
-                        thresholds.put("volumeAnomalyVsBaselinePercent", config.getVolumeAnomalyVsBaselinePercent());
-                    }
-                    if (config.getMandatoryColumnNullsPercent() != null) {
-                        thresholds.put("mandatoryColumnNullsPercent", config.getMandatoryColumnNullsPercent());
-                    }
-                    if (config.getDuplicateBusinessKeysPercent() != null) {
-                        thresholds.put("duplicateBusinessKeysPercent", config.getDuplicateBusinessKeysPercent());
-                    }
-                    if (config.getFormatViolationsPercent() != null) {
-                        thresholds.put("formatViolationsPercent", config.getFormatViolationsPercent());
-                    }
-                    if (config.getBreakingSchemaChangesAllowed() != null) {
-                        thresholds.put("breakingSchemaChangesAllowed", config.getBreakingSchemaChangesAllowed());
-                    }
-                    if (config.getDataFreshnessDelayMinutes() != null) {
-                        thresholds.put("dataFreshnessDelayMinutes", config.getDataFreshnessDelayMinutes());
-                    }
-
-                    // Convert map to JSON string
-                    try {
-                        return new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(thresholds);
-                    } catch (Exception e) {
-                        log.error("Error converting thresholds to JSON", e);
-                        return "{}";
-                    }
-                })
-                .orElse("{}"); // Return empty JSON if no config found
+    private ThresholdResultDto mapToThresholdResultDto(ApprovalThresholdResult result) {
+        return ThresholdResultDto.builder()
+                .metric(result.getMetric())
+                .fieldName(result.getMetric().getFieldName())
+                .observedValue(result.getObservedValue())
+                .thresholdValue(result.getThresholdValue())
+                .overagePercent(result.getOveragePercent())
+                .severity(result.getSeverity())
+                .build();
     }
 
-    private RecentDecisionDto mapToRecentDecisionDto(DEApprovalRequest entity) {
+    private RecentDecisionDto mapToRecentDecisionDto(RecentDecisionView decision) {
         return RecentDecisionDto.builder()
-                .approvalId(entity.getId())
-                .pipelineId(entity.getPipelineId())
-                .stage(entity.getStage())
-                .status(entity.getStatus())
-                .reason(entity.getReason())
-                .decidedAt(entity.getReviewedAt() != null ? entity.getReviewedAt() : entity.getCreatedAt())
+                .approvalId(decision.getId())
+                .pipelineId(decision.getPipelineId())
+                .stage(decision.getStage())
+                .status(decision.getStatus())
+                .reason(decision.getReason())
+                .decidedAt(decision.getReviewedAt() != null ? decision.getReviewedAt() : decision.getCreatedAt())
                 .build();
     }
+
+    /**
+     * Keyset position of a decision in (createdAt DESC, id DESC) order
+     */
+    private record DecisionKey(Instant createdAt, Long id) {
+    }
 }
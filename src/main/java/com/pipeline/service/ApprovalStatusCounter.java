@@ -0,0 +1,186 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.repository.ApprovalStatusCountRepository;
+import com.pipeline.repository.DEApprovalRequestRepository;
+import com.pipeline.repository.projection.ApprovalStatusCountView;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains approval_status_count_slots, the per-status request counts behind the approval stats.
+ * Triggers on de_approval_requests adjust the counts in the same transaction as every insert, status change
+ * and delete, whether it comes from this service or from the DE team writing to the table directly. Each
+ * transaction adds to one of SLOTS rows per status, picked by its transaction id, and reads sum the slots, so
+ * reviewers deciding concurrently do not queue on a shared counter row.
+ * The counts are reconciled against a GROUP BY over the table at startup and periodically after that, on an
+ * MVCC snapshot and without locking writers out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovalStatusCounter {
+
+    static final int SLOTS = 16;
+
+    // Statement-level with transition tables: a bulk insert of n requests costs one counter update per status,
+    // not n updates of the same few rows. Statuses are applied in a fixed order so concurrent writers can't deadlock.
+    private static final String COUNT_FUNCTION = """
+            CREATE OR REPLACE FUNCTION approval_status_counts_apply() RETURNS trigger AS $$
+            DECLARE
+                slot_no smallint := txid_current() %% %d;
+            BEGIN
+                IF TG_OP = 'TRUNCATE' THEN
+                    DELETE FROM approval_status_count_slots;
+                ELSIF TG_OP = 'INSERT' THEN
+                    INSERT INTO approval_status_count_slots (status, slot, request_count)
+                    SELECT status, slot_no, COUNT(*) FROM new_rows GROUP BY status ORDER BY status
+                    ON CONFLICT (status, slot) DO UPDATE SET request_count = approval_status_count_slots.request_count + EXCLUDED.request_count;
+                ELSIF TG_OP = 'DELETE' THEN
+                    INSERT INTO approval_status_count_slots (status, slot, request_count)
+                    SELECT status, slot_no, -COUNT(*) FROM old_rows GROUP BY status ORDER BY status
+                    ON CONFLICT (status, slot) DO UPDATE SET request_count = approval_status_count_slots.request_count + EXCLUDED.request_count;
+                ELSE
+                    INSERT INTO approval_status_count_slots (status, slot, request_count)
+                    SELECT status, slot_no, SUM(delta) FROM (
+                        SELECT status, -1 AS delta FROM old_rows
+                        UNION ALL
+                        SELECT status, 1 AS delta FROM new_rows
+                    ) changes GROUP BY status HAVING SUM(delta) <> 0 ORDER BY status
+                    ON CONFLICT (status, slot) DO UPDATE SET request_count = approval_status_count_slots.request_count + EXCLUDED.request_count;
+                END IF;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql""".formatted(SLOTS);
+
+    private static final List<String> TRIGGERS = List.of(
+            "CREATE TRIGGER approval_status_counts_insert AFTER INSERT ON de_approval_requests " +
+                    "REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION approval_status_counts_apply()",
+            "CREATE TRIGGER approval_status_counts_update AFTER UPDATE ON de_approval_requests " +
+                    "REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION approval_status_counts_apply()",
+            "CREATE TRIGGER approval_status_counts_delete AFTER DELETE ON de_approval_requests " +
+                    "REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION approval_status_counts_apply()",
+            "CREATE TRIGGER approval_status_counts_truncate AFTER TRUNCATE ON de_approval_requests " +
+                    "FOR EACH STATEMENT EXECUTE FUNCTION approval_status_counts_apply()");
+
+    // Reconciliation corrections go to slot 0; deltas commute, so it does not matter which slot takes them
+    private static final String ADD_SQL = "INSERT INTO approval_status_count_slots (status, slot, request_count) VALUES (?, 0, ?) " +
+            "ON CONFLICT (status, slot) DO UPDATE SET request_count = approval_status_count_slots.request_count + EXCLUDED.request_count";
+
+    private final DEApprovalRequestRepository approvalRepository;
+    private final ApprovalStatusCountRepository statusCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Injected so the schema (both tables) exists before the triggers are installed
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Creating the triggers waits for in-flight writers and blocks new ones until it commits; give up rather
+    // than queue behind a long transaction
+    @Value("${pipeline.approval-stats.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    private volatile boolean installed;
+
+    /**
+     * Current request count per status (statuses without requests are absent)
+     */
+    public Map<ApprovalStatus, Long> getCounts() {
+        Map<ApprovalStatus, Long> counts = new EnumMap<>(ApprovalStatus.class);
+        List<ApprovalStatusCountView> views = installed ? statusCountRepository.sumGroupByStatus() :
+                // Fallback until the triggers could be installed and the counts reconciled
+                approvalRepository.countGroupByStatus();
+        views.forEach(c -> counts.put(c.getStatus(), c.getRequestCount()));
+        counts.values().removeIf(count -> count == 0);
+        return counts;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            install();
+        } catch (RuntimeException e) {
+            log.error("Failed to install the approval status count triggers; stats fall back to counting until it is retried", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.approval-stats.reconcile-interval-ms:3600000}", initialDelayString = "${pipeline.approval-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            if (!installed) {
+                install();
+                return;
+            }
+            correct();
+        } catch (RuntimeException e) {
+            log.warn("Approval status count reconciliation failed; retrying on the next run", e);
+        }
+    }
+
+    /**
+     * (Re)create the triggers in one short transaction, so no change is counted twice or missed while they are
+     * replaced, then reconcile: that also brings fresh counts (or the counts of the old single-row table,
+     * which is dropped) up to date
+     */
+    private void install() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+            jdbcTemplate.execute(COUNT_FUNCTION);
+            for (String trigger : TRIGGERS) {
+                String name = trigger.split(" ")[2];
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + name + " ON de_approval_requests");
+                jdbcTemplate.execute(trigger);
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS approval_status_counts");
+        });
+        correct();
+        installed = true;
+        log.info("Approval status count triggers installed");
+    }
+
+    /**
+     * Add the difference between a GROUP BY over the table and the counts, both read on one snapshot, to the counts.
+     * The triggers count every change in its own transaction, so the two agree on any snapshot unless the counts
+     * drifted; the difference is added as a delta, which commutes with the deltas writers add meanwhile.
+     */
+    private void correct() {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.setReadOnly(true);
+        Map<ApprovalStatus, Long> drift = snapshot.execute(status -> {
+            Map<ApprovalStatus, Long> difference = new EnumMap<>(ApprovalStatus.class);
+            for (ApprovalStatusCountView count : approvalRepository.countGroupByStatus()) {
+                difference.merge(count.getStatus(), count.getRequestCount(), Long::sum);
+            }
+            for (ApprovalStatusCountView count : statusCountRepository.sumGroupByStatus()) {
+                difference.merge(count.getStatus(), -count.getRequestCount(), Long::sum);
+            }
+            difference.values().removeIf(delta -> delta == 0);
+            return difference;
+        });
+        if (drift == null || drift.isEmpty()) {
+            return;
+        }
+        if (installed) {
+            log.warn("Approval status counts drifted; correcting by {}", drift);
+        }
+        // In status order, as the triggers lock the rows
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_SQL, drift.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(ApprovalStatus::name)))
+                .map(e -> new Object[]{e.getKey().name(), e.getValue()})
+                .toList()));
+    }
+}
@@ -0,0 +1,230 @@
+package com.pipeline.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pipeline.dto.storage.ConfigCacheStatsDto;
+import com.pipeline.dto.storage.S3ObjectDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caching decorator in front of S3StorageServiceImpl
+ * Step configs are kept in a byte-weighted W-TinyLFU cache keyed by S3 key. Entries past the revalidation
+ * interval are checked with a conditional GET on their ETag; content-addressed keys can never change and
+ * are never revalidated. Writes and deletes through this service evict the key.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachingS3StorageService implements S3StorageService {
+
+    // Rough per-entry overhead on top of the content (key, ETag, entry objects)
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final S3StorageServiceImpl delegate;
+    private final Cache<String, CachedConfig> cache;
+    private final long maxWeightBytes;
+    private final Duration revalidateAfter;
+
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    public CachingS3StorageService(S3StorageServiceImpl delegate,
+                                   @Value("${pipeline.config-cache.max-bytes:67108864}") long maxWeightBytes,
+                                   @Value("${pipeline.config-cache.revalidate-after-seconds:300}") long revalidateAfterSeconds) {
+        this.delegate = delegate;
+        this.maxWeightBytes = maxWeightBytes;
+        this.revalidateAfter = Duration.ofSeconds(revalidateAfterSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, CachedConfig value) -> value.weight(key))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String upload(String key, String content, String contentType) {
+        cache.invalidate(key);
+        return delegate.upload(key, content, contentType);
+    }
+
+    @Override
+    public String upload(String key, InputStream content, long contentLength, String contentType) {
+        cache.invalidate(key);
+        return delegate.upload(key, content, contentLength, contentType);
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        CachedConfig cached = cache.getIfPresent(key);
+        if (cached != null && !needsRevalidation(key, cached)) {
+            return Optional.of(cached.content);
+        }
+        return load(key, cached);
+    }
+
+    @Override
+    public Optional<S3ObjectDto> getIfNoneMatch(String key, String eTag) {
+        return delegate.getIfNoneMatch(key, eTag);
+    }
+
+    @Override
+    public Optional<S3ObjectStreamDto> openStream(String key, String range, String ifNoneMatch) {
+        // Raw downloads go straight through: the point is to never hold the bytes
+        return delegate.openStream(key, range, ifNoneMatch);
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> getAsync(String key) {
+        CachedConfig cached = cache.getIfPresent(key);
+        if (cached != null && !needsRevalidation(key, cached)) {
+            return CompletableFuture.completedFuture(Optional.of(cached.content));
+        }
+        return delegate.submit(() -> load(key, cached));
+    }
+
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> result = new ConcurrentHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+
+        // Serve what we can from memory and only go to S3 (in parallel, bounded) for the rest
+        Map<String, Optional<CachedConfig>> misses = new LinkedHashMap<>();
+        for (String key : keys) {
+            if (key == null || key.isBlank() || result.containsKey(key) || misses.containsKey(key)) {
+                continue;
+            }
+            CachedConfig cached = cache.getIfPresent(key);
+            if (cached != null && !needsRevalidation(key, cached)) {
+                result.put(key, cached.content);
+            } else {
+                misses.put(key, Optional.ofNullable(cached));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            delegate.runBounded(misses.keySet(), key -> delegate.submit(() -> load(key, misses.get(key).orElse(null)))
+                    .thenAccept(content -> content.ifPresent(c -> result.put(key, c))));
+        }
+        return result;
+    }
+
+    @Override
+    public void copy(String sourceKey, String destinationKey) {
+        cache.invalidate(destinationKey);
+        delegate.copy(sourceKey, destinationKey);
+    }
+
+    @Override
+    public List<String> copyAll(Map<String, String> sourceToDestination) {
+        cache.invalidateAll(sourceToDestination.values());
+        return delegate.copyAll(sourceToDestination);
+    }
+
+    @Override
+    public void delete(String key) {
+        cache.invalidate(key);
+        delegate.delete(key);
+    }
+
+    @Override
+    public Map<String, String> deleteAll(Collection<String> keys) {
+        cache.invalidateAll(keys);
+        return delegate.deleteAll(keys);
+    }
+
+    public ConfigCacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return ConfigCacheStatsDto.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeightBytes(stats.evictionWeight())
+                .revalidationCount(revalidations.sum())
+                .notModifiedCount(notModified.sum())
+                .entryCount(cache.estimatedSize())
+                .weightedSizeBytes(cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .maxWeightBytes(maxWeightBytes)
+                .build();
+    }
+
+    /**
+     * Fetch from S3, revalidating with the cached ETag when there is a stale entry
+     */
+    private Optional<String> load(String key, CachedConfig cached) {
+        String eTag = cached != null ? cached.eTag : null;
+        if (eTag != null) {
+            revalidations.increment();
+        }
+        Optional<S3ObjectDto> fetched;
+        try {
+            fetched = delegate.getIfNoneMatch(key, eTag);
+        } catch (SdkException | UncheckedIOException e) {
+            // Throttling, 5xx or a dropped connection says nothing about the object: keep serving the cached
+            // copy, left due for revalidation so the next read tries again
+            if (cached != null) {
+                log.warn("Revalidation of S3 key {} failed, serving cached copy: {}", key, e.getMessage());
+                return Optional.of(cached.content);
+            }
+            log.warn("Failed to read S3 key {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+        if (fetched.isEmpty()) {
+            // Only a missing object evicts
+            cache.invalidate(key);
+            return Optional.empty();
+        }
+
+        S3ObjectDto object = fetched.get();
+        if (object.isNotModified() && cached != null) {
+            notModified.increment();
+            cached.validatedAtNanos = System.nanoTime();
+            return Optional.of(cached.content);
+        }
+        cache.put(key, new CachedConfig(object.getContent(), object.getETag()));
+        return Optional.ofNullable(object.getContent());
+    }
+
+    private boolean needsRevalidation(String key, CachedConfig cached) {
+        if (key.startsWith(ConfigStorageServiceImpl.KEY_PREFIX)) {
+            return false; // content-addressed: the key is the content hash
+        }
+        return System.nanoTime() - cached.validatedAtNanos > revalidateAfter.toNanos();
+    }
+
+    private static final class CachedConfig {
+        private final String content;
+        private final String eTag;
+        private volatile long validatedAtNanos = System.nanoTime();
+
+        private CachedConfig(String content, String eTag) {
+            this.content = content;
+            this.eTag = eTag;
+        }
+
+        private int weight(String key) {
+            long bytes = 2L * (content.length() + key.length()) + ENTRY_OVERHEAD_BYTES;
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.search.ConfigSearchResultDto;
+import com.pipeline.model.Pipeline;
+
+import java.util.Set;
+
+/**
+ * In-memory inverted index over step config contents (key paths and values)
+ */
+public interface ConfigSearchService {
+
+    /**
+     * Steps whose config contains every whitespace-separated term of the query.
+     * A term matches a key, a dotted key path, a value or a word of a value; "key:value" matches a value under that key.
+     */
+    ConfigSearchResultDto search(String query, int limit);
+
+    /**
+     * Re-index a created or changed pipeline's step configs (after commit, if in a transaction)
+     */
+    void index(Pipeline pipeline);
+
+    /**
+     * Tokens of a streamed config, which has no stored copy to tokenize, by its content-addressed S3 key
+     * (see ConfigTokenizer). index uses them for steps that record the key; register them first.
+     */
+    void registerTokens(String s3Key, Set<String> tokens);
+
+    /**
+     * Drop a deleted pipeline from the index (after commit, if in a transaction)
+     */
+    void unindex(Long pipelineId);
+}
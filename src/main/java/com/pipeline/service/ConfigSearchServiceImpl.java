@@ -0,0 +1,278 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.search.ConfigSearchHitDto;
+import com.pipeline.dto.search.ConfigSearchResultDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.model.Pipeline;
+import com.pipeline.model.PipelineStep;
+import com.pipeline.repository.PipelineStepRepository;
+import com.pipeline.repository.projection.StepConfigView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from config tokens to pipelines, with each pipeline's per-step token sets
+ * A search intersects the postings of its terms (smallest first) and then checks the candidate pipelines' steps,
+ * so it never reads the database or S3. Populated at startup from the stored config copies, kept current by
+ * pipeline writes, and rebuilt periodically to pick up changes made by other instances.
+ * Streamed configs have no stored copy: they are tokenized while they are uploaded and their tokens kept by
+ * content-addressed key; a rebuild reads from S3 only the streamed configs no upload here has registered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigSearchServiceImpl implements ConfigSearchService {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private final PipelineStepRepository pipelineStepRepository;
+    private final S3StorageService s3StorageService;
+
+    // Tokens of streamed configs by S3 key; content-addressed, so an entry never goes stale, only unused
+    private final Map<String, Set<String>> streamedTokens = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Index index = new Index();
+
+    // Incremental changes that arrive while a rebuild is loading, replayed onto the rebuilt index; null when not rebuilding
+    private Map<Long, IndexedPipeline> changedDuringRebuild;
+
+    // Streamed configs registered while a rebuild is loading, kept when it drops the tokens no step uses
+    private Set<String> registeredDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.config-search.rebuild-interval-ms:1800000}", initialDelayString = "${pipeline.config-search.rebuild-interval-ms:1800000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+            registeredDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Built off-lock, page by page, so searches keep running against the current index meanwhile
+        Map<Long, IndexedPipeline> loaded = new HashMap<>();
+        Set<String> streamedKeys = new HashSet<>();
+        Long afterId = 0L;
+        List<StepConfigView> page;
+        do {
+            page = pipelineStepRepository.findConfigViewsAfter(afterId, Limit.of(REBUILD_PAGE_SIZE));
+            for (StepConfigView step : page) {
+                Set<String> tokens;
+                if (step.getConfigContent() != null) {
+                    tokens = ConfigTokenizer.tokenize(step.getConfigContent(), step.getConfigType());
+                } else {
+                    streamedKeys.add(step.getConfigS3Key());
+                    tokens = streamedTokens(step.getConfigS3Key(), step.getConfigType());
+                }
+                if (tokens != null) {
+                    loaded.computeIfAbsent(step.getPipelineId(), id -> new IndexedPipeline(step.getPipelineName(), new ArrayList<>()))
+                            .steps().add(new IndexedStep(step.getStepOrder(), step.getStepName(), tokens));
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        Index rebuilt = new Index();
+        loaded.forEach(rebuilt::put);
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(rebuilt::put);
+            changedDuringRebuild = null;
+            index = rebuilt;
+            streamedKeys.addAll(registeredDuringRebuild);
+            registeredDuringRebuild = null;
+            streamedTokens.keySet().retainAll(streamedKeys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Indexed step configs of {} pipelines ({} distinct tokens)", loaded.size(), rebuilt.postings.size());
+    }
+
+    @Override
+    public ConfigSearchResultDto search(String query, int limit) {
+        List<String> terms = query == null ? List.of() :
+                Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+")).filter(term -> !term.isEmpty()).distinct().toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int maxHits = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<ConfigSearchHitDto> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // Candidate pipelines: intersection of the terms' postings, smallest first
+            List<Set<Long>> postings = terms.stream().map(term -> index.postings.getOrDefault(term, Set.of())).sorted(Comparator.comparingInt(Set::size)).toList();
+            for (Long pipelineId : postings.get(0)) {
+                if (!postings.stream().skip(1).allMatch(p -> p.contains(pipelineId))) {
+                    continue;
+                }
+                // All terms must match within one step
+                IndexedPipeline pipeline = index.pipelines.get(pipelineId);
+                for (IndexedStep step : pipeline.steps()) {
+                    if (step.tokens().containsAll(terms)) {
+                        matches.add(ConfigSearchHitDto.builder().pipelineId(pipelineId).pipelineName(pipeline.name()).stepOrder(step.stepOrder()).stepName(step.stepName()).build());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparing(ConfigSearchHitDto::getPipelineId).thenComparingInt(ConfigSearchHitDto::getStepOrder));
+        return ConfigSearchResultDto.builder().total(matches.size()).hits(matches.size() > maxHits ? matches.subList(0, maxHits) : matches).build();
+    }
+
+    @Override
+    public void index(Pipeline pipeline) {
+        // Tokenized now, while the entity is at hand; applied after commit
+        Long pipelineId = pipeline.getId();
+        List<IndexedStep> steps = new ArrayList<>();
+        for (PipelineStep step : pipeline.getSteps()) {
+            if (step.getConfigContent() != null && !step.getConfigContent().isBlank()) {
+                steps.add(new IndexedStep(step.getStepOrder(), step.getStepName(), ConfigTokenizer.tokenize(step.getConfigContent(), step.getConfigType())));
+            } else if (step.getConfigS3Key() != null && streamedTokens.containsKey(step.getConfigS3Key())) {
+                // A streamed config registered elsewhere is picked up by the next rebuild
+                steps.add(new IndexedStep(step.getStepOrder(), step.getStepName(), streamedTokens.get(step.getConfigS3Key())));
+            }
+        }
+        IndexedPipeline entry = steps.isEmpty() ? null : new IndexedPipeline(pipeline.getName(), steps);
+        afterCommit(() -> apply(pipelineId, entry));
+    }
+
+    @Override
+    public void registerTokens(String s3Key, Set<String> tokens) {
+        lock.writeLock().lock();
+        try {
+            streamedTokens.put(s3Key, Set.copyOf(tokens));
+            if (registeredDuringRebuild != null) {
+                registeredDuringRebuild.add(s3Key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void unindex(Long pipelineId) {
+        afterCommit(() -> apply(pipelineId, null));
+    }
+
+    private void apply(Long pipelineId, IndexedPipeline entry) {
+        lock.writeLock().lock();
+        try {
+            index.put(pipelineId, entry);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(pipelineId, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tokens of a streamed config, read from S3 if no upload here has registered them; null if it cannot be read
+     */
+    private Set<String> streamedTokens(String s3Key, ConfigType configType) {
+        Set<String> tokens = streamedTokens.get(s3Key);
+        if (tokens != null) {
+            return tokens;
+        }
+        try {
+            Optional<S3ObjectStreamDto> object = s3StorageService.openStream(s3Key, null, null);
+            if (object.isEmpty() || object.get().getBody() == null) {
+                log.warn("Streamed config {} not found in S3; its step is not indexed", s3Key);
+                return null;
+            }
+            try (InputStream body = object.get().getBody()) {
+                tokens = Set.copyOf(ConfigTokenizer.tokenize(body, configType));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read streamed config {} for indexing; its step is not indexed", s3Key, e);
+            return null;
+        }
+        streamedTokens.putIfAbsent(s3Key, tokens);
+        return tokens;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record IndexedStep(int stepOrder, String stepName, Set<String> tokens) {
+    }
+
+    private record IndexedPipeline(String name, List<IndexedStep> steps) {
+    }
+
+    private static final class Index {
+
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final Map<Long, IndexedPipeline> pipelines = new HashMap<>();
+
+        /**
+         * Replace a pipeline's entry; a null entry removes it
+         */
+        void put(Long pipelineId, IndexedPipeline entry) {
+            IndexedPipeline previous = entry != null ? pipelines.put(pipelineId, entry) : pipelines.remove(pipelineId);
+            if (previous != null) {
+                for (IndexedStep step : previous.steps()) {
+                    for (String token : step.tokens()) {
+                        Set<Long> ids = postings.get(token);
+                        if (ids != null && ids.remove(pipelineId) && ids.isEmpty()) {
+                            postings.remove(token);
+                        }
+                    }
+                }
+            }
+            if (entry != null) {
+                for (IndexedStep step : entry.steps()) {
+                    for (String token : step.tokens()) {
+                        postings.computeIfAbsent(token, t -> new HashSet<>()).add(pipelineId);
+                    }
+                }
+            }
+        }
+    }
+}
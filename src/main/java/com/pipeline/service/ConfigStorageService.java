@@ -0,0 +1,60 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ConfigType;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Content-addressed storage for pipeline step configs
+ * Identical configs share one S3 object, keyed by the SHA-256 of their normalized content
+ */
+public interface ConfigStorageService {
+
+    /**
+     * Store config content and take a reference on it.
+     * Skips the upload entirely when identical content is already stored.
+     * Returns the S3 key to record on the step.
+     */
+    String store(String content, ConfigType configType);
+
+    /**
+     * Upload a streamed config, in its normalized form, without holding it in memory or a transaction open.
+     * The body goes to a staging key, since its hash is only known at the end, and is then copied server-side to
+     * its content-addressed key. Both objects are reserved for cleanup through the outbox first, so a failed upload,
+     * a rollback or a crash leaves nothing behind; the content-addressed one is only deleted if nothing references it.
+     * Call commit in the transaction that records the key on the step.
+     */
+    StagedConfig stage(InputStream content, ConfigType configType);
+
+    /**
+     * Take a reference on a staged config as part of the current transaction and keep its object; the staging
+     * object is removed through the outbox after commit. Returns the S3 key to record on the step.
+     */
+    String commit(StagedConfig staged);
+
+    /**
+     * The content exactly as store saves it (line endings, BOM and trailing whitespace normalized).
+     * Copies kept elsewhere, like the step's configContent, should hold this form so they match the S3 object.
+     */
+    String normalize(String content);
+
+    /**
+     * The key store would return for this content, without storing it or taking a reference
+     */
+    String keyOf(String content, ConfigType configType);
+
+    /**
+     * Take references on a copied pipeline's configs without moving any config bytes through this service.
+     * Content-addressed keys are shared by reference; legacy keys are copied server-side (CopyObject), concurrently,
+     * and the copies are deleted through the outbox unless the current transaction commits.
+     * Returns source key -> key to record on the copied step.
+     */
+    Map<String, String> copyAll(Collection<String> s3Keys);
+
+    /**
+     * Drop a reference taken by store. The S3 object is deleted after commit once nothing references it.
+     */
+    void release(String s3Key);
+}
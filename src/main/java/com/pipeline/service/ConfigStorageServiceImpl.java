@@ -0,0 +1,179 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ConfigType;
+import com.pipeline.repository.ConfigObjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigStorageServiceImpl implements ConfigStorageService {
+
+    static final String KEY_PREFIX = "configs/sha256/";
+
+    private static final String LEGACY_COPY_PREFIX = "pipelines/copies/";
+    private static final String STAGING_PREFIX = "configs/staging/";
+
+    private final ConfigObjectRepository configObjectRepository;
+    private final S3StorageService s3StorageService;
+    private final S3OutboxService s3OutboxService;
+
+    @Override
+    @Transactional
+    public String store(String content, ConfigType configType) {
+        String normalized = normalize(content);
+        byte[] bytes = normalized.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256Hex(bytes);
+        String key = toKey(hash, configType);
+        String contentType = ConfigType.orDefault(configType).getContentType();
+
+        // Same content => same key, so an existing object never needs re-uploading.
+        // The reference is taken first and only the writer that created the row queues the upload (through the
+        // outbox, after commit); a row released and deleted meanwhile is simply created again, with its upload
+        if (configObjectRepository.acquire(key, hash, contentType, bytes.length)) {
+            s3OutboxService.enqueuePut(key, normalized, contentType);
+            log.debug("Queued upload of new config object: {}", key);
+        }
+        return key;
+    }
+
+    @Override
+    public StagedConfig stage(InputStream content, ConfigType configType) {
+        ConfigType type = ConfigType.orDefault(configType);
+        String contentType = type.getContentType();
+        String stagingKey = STAGING_PREFIX + UUID.randomUUID() + type.getExtension();
+        List<Long> cleanup = new ArrayList<>(s3OutboxService.scheduleCleanup(List.of(stagingKey)));
+        try {
+            NormalizedContentInputStream normalized = new NormalizedContentInputStream(content);
+            s3StorageService.upload(stagingKey, normalized, -1, contentType);
+            String hash = normalized.sha256Hex();
+            String key = toKey(hash, type);
+
+            // Copied now so the key can be read as soon as the step records it. An identical object may already be
+            // there; rewriting it is harmless, and its cleanup only deletes it if it ends up unreferenced
+            cleanup.addAll(s3OutboxService.scheduleCleanup(List.of(key)));
+            s3StorageService.copy(stagingKey, key);
+            return new StagedConfig(key, hash, contentType, normalized.size(), stagingKey, cleanup);
+        } catch (RuntimeException e) {
+            s3OutboxService.cleanupNow(cleanup);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public String commit(StagedConfig staged) {
+        if (configObjectRepository.acquire(staged.s3Key(), staged.contentHash(), staged.contentType(), staged.sizeBytes())) {
+            // A new row: the copy made while staging may since have been deleted as unreferenced, so it is made
+            // again through the outbox, after any such delete, before the staging object goes
+            s3OutboxService.enqueueCopy(staged.stagingKey(), staged.s3Key());
+        } else {
+            s3OutboxService.enqueueDelete(List.of(staged.stagingKey()));
+        }
+        s3OutboxService.cancelCleanup(staged.cleanup());
+        return staged.s3Key();
+    }
+
+    @Override
+    public String keyOf(String content, ConfigType configType) {
+        return toKey(sha256Hex(normalize(content).getBytes(StandardCharsets.UTF_8)), configType);
+    }
+
+    @Override
+    @Transactional
+    public Map<String, String> copyAll(Collection<String> s3Keys) {
+        Map<String, String> copied = new HashMap<>();
+        Map<String, String> serverSideCopies = new HashMap<>();
+
+        // One reference per step, so a config shared by two steps is counted twice
+        for (String key : s3Keys) {
+            if (key == null || key.isBlank()) {
+                continue;
+            }
+            if (key.startsWith(KEY_PREFIX) && configObjectRepository.addReference(key) > 0) {
+                copied.put(key, key);
+            } else if (!serverSideCopies.containsKey(key)) {
+                serverSideCopies.put(key, LEGACY_COPY_PREFIX + UUID.randomUUID() + extensionOf(key));
+            }
+        }
+
+        if (serverSideCopies.isEmpty()) {
+            return copied;
+        }
+
+        // The copies are made before the transaction commits, so their deletion is reserved through the outbox
+        // first: copies orphaned by a failed copy, a rollback or a crash are removed, and only a commit keeps them
+        List<Long> cleanup = s3OutboxService.scheduleCleanup(serverSideCopies.values());
+        List<String> failed = s3StorageService.copyAll(serverSideCopies);
+        if (!failed.isEmpty()) {
+            s3OutboxService.cleanupNow(cleanup);
+            throw new IllegalStateException("Failed to copy step configs in S3: " + failed);
+        }
+        s3OutboxService.cancelCleanup(cleanup);
+        copied.putAll(serverSideCopies);
+        return copied;
+    }
+
+    @Override
+    @Transactional
+    public void release(String s3Key) {
+        if (s3Key == null || s3Key.isBlank()) {
+            return;
+        }
+
+        // Legacy per-pipeline keys (pipelines/{id}/steps/...) are never shared
+        if (!s3Key.startsWith(KEY_PREFIX)) {
+            s3OutboxService.enqueueDelete(List.of(s3Key));
+            return;
+        }
+
+        configObjectRepository.release(s3Key);
+        if (configObjectRepository.deleteIfUnreferenced(s3Key) > 0) {
+            s3OutboxService.enqueueDelete(List.of(s3Key));
+        }
+    }
+
+    /**
+     * Normalize line endings, BOM and trailing whitespace so cosmetic differences hash identically
+     */
+    @Override
+    public String normalize(String content) {
+        String normalized = content.replace("\r\n", "\n").replace('\r', '\n');
+        if (normalized.startsWith("\uFEFF")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized.stripTrailing();
+    }
+
+    private static String toKey(String hash, ConfigType configType) {
+        return KEY_PREFIX + hash + ConfigType.orDefault(configType).getExtension();
+    }
+
+    private static String extensionOf(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > key.lastIndexOf('/') ? key.substring(dot) : "";
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.pipeline.enums.ConfigType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the search tokens of a config from its parse, one token at a time, so a config is tokenized while it is
+ * read and never held whole: every key, dotted key path, value and word of a value, plus "key:value" and "key:word"
+ * for the innermost key. Lower-cased; array indexes are not part of paths.
+ * Not thread-safe; read tokens() once the parse has finished.
+ */
+public class ConfigTokenizer {
+
+    private static final int MAX_VALUE_TOKEN_LENGTH = 256;
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new YAMLMapper();
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{Alnum}_]+");
+
+    private static final Frame ROOT = new Frame("", null);
+
+    private final Set<String> tokens = new HashSet<>();
+    // The path and innermost key of each open object or array; array items take those of their array
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    // The field whose value comes next, if any
+    private Frame field;
+
+    /**
+     * Tokens of a config held as a String; unparseable content is indexed by its words
+     */
+    static Set<String> tokenize(String content, ConfigType configType) {
+        ConfigTokenizer tokenizer = new ConfigTokenizer();
+        try (JsonParser parser = tokenizer.observe(mapper(configType).createParser(content))) {
+            while (parser.nextToken() != null) {
+                // every token is collected as it is read
+            }
+        } catch (IOException e) {
+            Set<String> words = new HashSet<>();
+            addWords(content.toLowerCase(Locale.ROOT), null, words);
+            return words;
+        }
+        return tokenizer.tokens();
+    }
+
+    /**
+     * Tokens of a config read from a stream, e.g. an S3 object; the stream is not closed
+     */
+    static Set<String> tokenize(InputStream content, ConfigType configType) throws IOException {
+        ConfigTokenizer tokenizer = new ConfigTokenizer();
+        try (JsonParser parser = tokenizer.observe(mapper(configType).createParser(content))) {
+            while (parser.nextToken() != null) {
+                // every token is collected as it is read
+            }
+        }
+        return tokenizer.tokens();
+    }
+
+    /**
+     * A parser that feeds this tokenizer every token read through it, including those skipped over or read into trees
+     */
+    public JsonParser observe(JsonParser parser) {
+        return new JsonParserDelegate(parser) {
+            @Override
+            public JsonToken nextToken() throws IOException {
+                JsonToken token = super.nextToken();
+                if (token != null) {
+                    accept(token, this);
+                }
+                return token;
+            }
+
+            @Override
+            public JsonToken nextValue() throws IOException {
+                JsonToken token = nextToken();
+                return token == JsonToken.FIELD_NAME ? nextToken() : token;
+            }
+
+            @Override
+            public JsonParser skipChildren() throws IOException {
+                if (currentToken() != JsonToken.START_OBJECT && currentToken() != JsonToken.START_ARRAY) {
+                    return this;
+                }
+                int open = 1;
+                while (open > 0) {
+                    JsonToken token = nextToken();
+                    if (token == null) {
+                        break;
+                    }
+                    if (token.isStructStart()) {
+                        open++;
+                    } else if (token.isStructEnd()) {
+                        open--;
+                    }
+                }
+                return this;
+            }
+        };
+    }
+
+    public Set<String> tokens() {
+        return Collections.unmodifiableSet(tokens);
+    }
+
+    private void accept(JsonToken token, JsonParser parser) throws IOException {
+        switch (token) {
+            case FIELD_NAME -> {
+                String name = parser.currentName().toLowerCase(Locale.ROOT);
+                String parent = frames.isEmpty() ? "" : frames.peek().path();
+                field = new Frame(parent.isEmpty() ? name : parent + "." + name, name);
+                tokens.add(name);
+                tokens.add(field.path());
+            }
+            case START_OBJECT, START_ARRAY -> frames.push(valueFrame());
+            case END_OBJECT, END_ARRAY -> frames.pop();
+            case VALUE_NULL -> valueFrame();
+            default -> {
+                if (token.isScalarValue()) {
+                    addValue(parser.getText().toLowerCase(Locale.ROOT), valueFrame().key());
+                }
+            }
+        }
+    }
+
+    /**
+     * Where the value just started sits: under the preceding field, or as an item of the enclosing array
+     */
+    private Frame valueFrame() {
+        if (field != null) {
+            Frame frame = field;
+            field = null;
+            return frame;
+        }
+        return frames.isEmpty() ? ROOT : frames.peek();
+    }
+
+    private void addValue(String value, String key) {
+        if (!value.isBlank() && value.length() <= MAX_VALUE_TOKEN_LENGTH) {
+            tokens.add(value);
+            if (key != null) {
+                tokens.add(key + ":" + value);
+            }
+        }
+        addWords(value, key, tokens);
+    }
+
+    private static void addWords(String text, String key, Set<String> tokens) {
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (!word.isEmpty() && word.length() <= MAX_VALUE_TOKEN_LENGTH) {
+                tokens.add(word);
+                if (key != null) {
+                    tokens.add(key + ":" + word);
+                }
+            }
+        }
+    }
+
+    private static ObjectMapper mapper(ConfigType configType) {
+        return configType == ConfigType.YAML ? YAML_MAPPER : JSON_MAPPER;
+    }
+
+    private record Frame(String path, String key) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.pipeline.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * A UTF-8 config body in the form ConfigStorageService.normalize gives a String (line endings, BOM and trailing
+ * whitespace normalized), with the SHA-256 and size of that form once the end is read. Normalized as it is read:
+ * only a run of whitespace is held back, until the next character shows it is not trailing.
+ */
+class NormalizedContentInputStream extends FilterInputStream {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final int BLOCK_BYTES = 64 * 1024;
+
+    private final MessageDigest digest;
+    private final byte[] block = new byte[BLOCK_BYTES];
+    private boolean started;
+    private boolean ended;
+    private boolean pendingCr;
+    private long size;
+
+    // Output ready to be read
+    private byte[] out = new byte[BLOCK_BYTES];
+    private int outStart;
+    private int outEnd;
+
+    // Whitespace that is only written once something follows it
+    private byte[] held = new byte[256];
+    private int heldLength;
+
+    // The bytes of a multi-byte character read so far
+    private final byte[] sequence = new byte[4];
+    private int sequenceLength;
+    private int sequenceNeeded;
+
+    NormalizedContentInputStream(InputStream in) {
+        super(new PushbackInputStream(in, BOM.length));
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * SHA-256 of the normalized content, in hex; available once the end has been read
+     */
+    String sha256Hex() {
+        checkEnded();
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Bytes of normalized content; available once the end has been read
+     */
+    long size() {
+        checkEnded();
+        return size;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (outStart == outEnd) {
+            if (ended) {
+                return -1;
+            }
+            fill();
+        }
+        int n = Math.min(len, outEnd - outStart);
+        System.arraycopy(out, outStart, b, off, n);
+        outStart += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes must still be hashed
+        byte[] buffer = new byte[(int) Math.min(n, BLOCK_BYTES)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return outEnd - outStart;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void fill() throws IOException {
+        outStart = 0;
+        outEnd = 0;
+        if (!started) {
+            started = true;
+            PushbackInputStream pushback = (PushbackInputStream) in;
+            byte[] first = pushback.readNBytes(BOM.length);
+            if (!Arrays.equals(first, BOM)) {
+                pushback.unread(first);
+            }
+        }
+
+        int n = in.read(block, 0, block.length);
+        if (n < 0) {
+            // What is held is trailing whitespace; an unfinished character is kept as it is
+            flushSequence();
+            ended = true;
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            byte b = block[i];
+            if (pendingCr) {
+                pendingCr = false;
+                if (b == '\n') {
+                    continue;
+                }
+            }
+            if (b == '\r') {
+                pendingCr = true;
+                b = '\n';
+            }
+            accept(b);
+        }
+    }
+
+    private void accept(byte b) {
+        if (sequenceNeeded > 0) {
+            if ((b & 0xC0) == 0x80) {
+                sequence[sequenceLength++] = b;
+                if (sequenceLength == sequenceNeeded) {
+                    int codePoint = new String(sequence, 0, sequenceLength, StandardCharsets.UTF_8).codePointAt(0);
+                    character(sequence, sequenceLength, Character.isWhitespace(codePoint));
+                    sequenceLength = 0;
+                    sequenceNeeded = 0;
+                }
+                return;
+            }
+            // Not a continuation byte: the character was malformed
+            flushSequence();
+        }
+
+        int needed = (b & 0xE0) == 0xC0 ? 2 : (b & 0xF0) == 0xE0 ? 3 : (b & 0xF8) == 0xF0 ? 4 : 1;
+        if (needed > 1) {
+            sequence[0] = b;
+            sequenceLength = 1;
+            sequenceNeeded = needed;
+            return;
+        }
+        sequence[0] = b;
+        character(sequence, 1, b >= 0 && Character.isWhitespace(b));
+    }
+
+    private void flushSequence() {
+        if (sequenceLength > 0) {
+            character(sequence, sequenceLength, false);
+        }
+        sequenceLength = 0;
+        sequenceNeeded = 0;
+    }
+
+    private void character(byte[] bytes, int length, boolean whitespace) {
+        if (whitespace) {
+            held = ensure(held, heldLength + length);
+            System.arraycopy(bytes, 0, held, heldLength, length);
+            heldLength += length;
+            return;
+        }
+        write(held, heldLength);
+        heldLength = 0;
+        write(bytes, length);
+    }
+
+    private void write(byte[] bytes, int length) {
+        if (length == 0) {
+            return;
+        }
+        out = ensure(out, outEnd + length);
+        System.arraycopy(bytes, 0, out, outEnd, length);
+        outEnd += length;
+        digest.update(bytes, 0, length);
+        size += length;
+    }
+
+    private void checkEnded() {
+        if (!ended) {
+            throw new IllegalStateException("The content has not been read to the end");
+        }
+    }
+
+    private static byte[] ensure(byte[] buffer, int length) {
+        return length <= buffer.length ? buffer : Arrays.copyOf(buffer, Math.max(length, buffer.length * 2));
+    }
+}
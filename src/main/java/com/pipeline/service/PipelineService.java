@@ -1,25 +1,73 @@
 package com.pipeline.service;
 
+import com.pipeline.dto.pipeline.PipelineFilterDto;
+import com.pipeline.dto.pipeline.PipelineImportResultDto;
+import com.pipeline.dto.pipeline.PipelinePageDto;
+import com.pipeline.dto.pipeline.PipelinePatchDto;
 import com.pipeline.dto.pipeline.PipelineRequestDto;
 import com.pipeline.dto.pipeline.PipelineResponseDto;
-import com.pipeline.dto.pipeline.PipelineSummaryDto;
+import com.pipeline.dto.pipeline.PipelineStatusResultDto;
+import com.pipeline.dto.pipeline.PipelineStatusUpdateDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
+import com.pipeline.enums.ConfigType;
 
-import java.util.List;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 public interface PipelineService {
 
-    List<PipelineSummaryDto> getAllPipelines();
+    /**
+     * One keyset page of pipeline summaries (most recently updated first) matching the filter
+     */
+    PipelinePageDto getPipelinePage(PipelineFilterDto filter, String cursor, int limit);
 
     PipelineResponseDto getPipeline(Long id);
 
     PipelineResponseDto createPipeline(PipelineRequestDto dto);
 
+    /**
+     * Full update; steps are diffed against the existing ones so only changed rows and configs are written
+     */
     PipelineResponseDto updatePipeline(Long id, PipelineRequestDto dto);
 
+    /**
+     * Partial update: only the given fields and steps change, steps are matched by stepOrder
+     */
+    PipelineResponseDto patchPipeline(Long id, PipelinePatchDto dto);
+
     void togglePipeline(Long id, boolean enabled);
 
+    /**
+     * Enable or disable many pipelines (by ids and/or filter) in one set-based update
+     */
+    PipelineStatusResultDto updateStatus(PipelineStatusUpdateDto request);
+
     void deletePipeline(Long id);
 
     PipelineResponseDto copyPipeline(Long id);
+
+    /**
+     * Write every pipeline, with inline step configs, as one JSON line each (NDJSON) in the import format
+     */
+    void exportPipelines(OutputStream out);
+
+    /**
+     * Create pipelines from NDJSON, one PipelineRequestDto per line, in chunked transactions.
+     * A malformed line or a failed chunk is reported in the result and does not stop the import.
+     */
+    PipelineImportResultDto importPipelines(InputStream in);
+
+    /**
+     * Replace one step's config with raw bytes from the request body, streamed to S3 and validated on the way.
+     * configType overrides the step's config type when given; one of the two must be set.
+     * An invalid body, or one over the validator's parse limits, is refused without completing an S3 object.
+     */
+    void uploadStepConfig(Long pipelineId, int stepOrder, InputStream content, ConfigType configType);
+
+    /**
+     * Open one step's config for streaming to the client, honouring an optional Range and If-None-Match.
+     * The caller must close the returned body.
+     */
+    S3ObjectStreamDto openStepConfig(Long pipelineId, int stepOrder, String range, String ifNoneMatch);
 }
 
@@ -1,41 +1,118 @@
 package com.pipeline.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pipeline.dto.pipeline.PipelineFilterDto;
+import com.pipeline.dto.pipeline.PipelineImportResultDto;
+import com.pipeline.dto.pipeline.PipelinePageDto;
+import com.pipeline.dto.pipeline.PipelinePatchDto;
 import com.pipeline.dto.pipeline.PipelineRequestDto;
 import com.pipeline.dto.pipeline.PipelineResponseDto;
+import com.pipeline.dto.pipeline.PipelineStatusResultDto;
+import com.pipeline.dto.pipeline.PipelineStatusUpdateDto;
 import com.pipeline.dto.pipeline.PipelineStepDto;
 import com.pipeline.dto.pipeline.PipelineSummaryDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
 import com.pipeline.enums.ConfigType;
 import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
 import com.pipeline.exception.PipelineNotFoundException;
+import com.pipeline.exception.PipelineStepNotFoundException;
+import com.pipeline.exception.UnsupportedConfigTypeException;
 import com.pipeline.model.Pipeline;
 import com.pipeline.model.PipelineStep;
 import com.pipeline.repository.PipelineRepository;
+import com.pipeline.repository.PipelineStepRepository;
+import com.pipeline.repository.projection.PipelineKey;
+import com.pipeline.repository.projection.PipelineStepTypeView;
+import com.pipeline.repository.projection.PipelineSummaryView;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PipelineServiceImpl implements PipelineService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final int MAX_IMPORT_ERRORS = 100;
+
     private final PipelineRepository pipelineRepository;
 
+    private final PipelineStepRepository pipelineStepRepository;
+
     private final S3StorageService s3StorageService;
 
+    private final ConfigStorageService configStorageService;
+
+    private final ScheduleService scheduleService;
+
+    private final ConfigSearchService configSearchService;
+
+    private final StepConfigValidator stepConfigValidator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    // Pipelines per export cursor chunk / per import transaction
+    @Value("${pipeline.bulk.chunk-size:100}")
+    private int bulkChunkSize;
+
     @Override
-    public List<PipelineSummaryDto> getAllPipelines() {
-        return pipelineRepository.findAll().stream().map(p -> PipelineSummaryDto.builder().id(p.getId()).name(p.getName()).description(p.getDescription()).enabled(p.isEnabled()).scheduleDescription(getScheduleDescription(p.getScheduleType(), p.getScheduleDay(), p.getScheduleDayOfMonth(), p.getScheduleTime(), p.getCronExpression())).stepCount(p.getSteps().size()).stepTypes(p.getSteps().stream().map(step -> step.getStepType()).distinct().toList()).build()).collect(Collectors.toList());
+    public PipelinePageDto getPipelinePage(PipelineFilterDto filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra key to know whether another page follows
+        List<PipelineKey> keys = pipelineRepository.findPageKeys(filter, decodeCursor(cursor), pageSize + 1);
+        boolean hasMore = keys.size() > pageSize;
+        if (hasMore) {
+            keys = keys.subList(0, pageSize);
+        }
+        if (keys.isEmpty()) {
+            return PipelinePageDto.builder().items(List.of()).build();
+        }
+
+        List<Long> ids = keys.stream().map(PipelineKey::id).toList();
+        Map<Long, PipelineSummaryView> summaries = pipelineRepository.findSummariesByIdIn(ids).stream().collect(Collectors.toMap(PipelineSummaryView::getId, p -> p));
+        Map<Long, List<StepType>> stepTypes = pipelineStepRepository.findDistinctStepTypesByPipelineIdIn(ids).stream().collect(Collectors.groupingBy(PipelineStepTypeView::getPipelineId, Collectors.mapping(PipelineStepTypeView::getStepType, Collectors.toList())));
+
+        List<PipelineSummaryDto> items = ids.stream().filter(summaries::containsKey).map(id -> toSummaryDto(summaries.get(id), stepTypes.getOrDefault(id, List.of()))).collect(Collectors.toList());
+        return PipelinePageDto.builder().items(items).nextCursor(hasMore ? encodeCursor(keys.get(keys.size() - 1)) : null).build();
     }
 
     @Override
@@ -48,30 +125,12 @@ public class PipelineServiceImpl implements PipelineService {
     @Override
     @Transactional
     public PipelineResponseDto createPipeline(PipelineRequestDto request) {
-
-        //create basic pipeline and save to get ID
-        Pipeline pipeline =
-                Pipeline.builder().name(request.getName()).description(request.getDescription()).enabled(request.isEnabled()).scheduleType(request.getScheduleType()).scheduleTime(request.getScheduleTime()).scheduleDay(request.getScheduleDay()).scheduleDayOfMonth(request.getScheduleDayOfMonth()).cronExpression(request.getCronExpression()).createdAt(Instant.now()).build();
-        pipeline = pipelineRepository.save(pipeline);
-
-        List<PipelineStep> steps = new ArrayList<>();
-        for (PipelineStepDto stepDto : request.getSteps()) {
-            PipelineStep step =
-                    PipelineStep.builder().stepName(stepDto.getStepName()).stepType(stepDto.getStepType()).stepOrder(stepDto.getStepOrder()).configType(stepDto.getConfigType()).pipeline(pipeline).build();
-
-            String content = stepDto.getConfigContent();
-            if (content != null && !content.isBlank()) {
-                String key = generateS3Key(pipeline.getId(), step.getStepOrder(), stepDto.getConfigType());
-                String contentType = stepDto.getConfigType() == ConfigType.YAML ? "text/yaml" : "application/json";
-                s3StorageService.upload(key, content, contentType);
-                step.setConfigS3Key(key);
-                step.setConfigContent(content);
-            }
-            steps.add(step);
-        }
-        pipeline.setSteps(steps);
-        Pipeline saved = pipelineRepository.save(pipeline);
-        return mapToResponse(saved);
+        // Saved once, together with its steps: the pipeline and step inserts go out as JDBC batches on flush
+        Pipeline saved = pipelineRepository.save(newPipeline(request));
+        scheduleService.index(saved);
+        configSearchService.index(saved);
+        // New objects are uploaded by the outbox after commit, so answer from the content we were given
+        return mapToResponse(saved, configsFromSteps(saved));
     }
 
     @Override
@@ -79,11 +138,6 @@ public class PipelineServiceImpl implements PipelineService {
     public PipelineResponseDto updatePipeline(Long id, PipelineRequestDto dto) {
         Pipeline pipeline = pipelineRepository.findById(id).orElseThrow(() -> new PipelineNotFoundException(id));
 
-        // Collect old S3 keys for cleanup
-        List<String> oldS3Keys =
-                pipeline.getSteps().stream().map(PipelineStep::getConfigS3Key).filter(key -> key != null && !key.isBlank()).collect(Collectors.toList());
-
-        pipeline.getSteps().clear();
         pipeline.setName(dto.getName());
         pipeline.setDescription(dto.getDescription());
         pipeline.setEnabled(dto.isEnabled());
@@ -94,43 +148,105 @@ public class PipelineServiceImpl implements PipelineService {
         pipeline.setCronExpression(dto.getCronExpression());
         pipeline.setUpdatedAt(Instant.now());
 
-        // Process new steps and upload to S3
-        List<PipelineStep> newSteps = new ArrayList<>();
-        for (PipelineStepDto stepDto : dto.getSteps()) {
-            PipelineStep step =
-                    PipelineStep.builder().stepName(stepDto.getStepName()).stepType(stepDto.getStepType()).stepOrder(stepDto.getStepOrder()).configType(stepDto.getConfigType()).pipeline(pipeline).build();
-
-            String content = stepDto.getConfigContent();
-            if (content != null && !content.isBlank()) {
-                String key = generateS3Key(pipeline.getId(), step.getStepOrder(), stepDto.getConfigType());
-                String contentType = stepDto.getConfigType() == ConfigType.YAML ? "text/yaml" : "application/json";
-                s3StorageService.upload(key, content, contentType);
-                step.setConfigS3Key(key);
-                step.setConfigContent(content);
+        // Diff against the existing steps: unchanged steps are left alone (no row write, no S3 traffic),
+        // changed steps are updated in place, and only new/removed steps are inserted/deleted
+        List<PipelineStepDto> incoming = dto.getSteps() != null ? dto.getSteps() : List.of();
+        Map<PipelineStepDto, PipelineStep> matched = matchSteps(pipeline.getSteps(), incoming);
+
+        List<String> releasedKeys = new ArrayList<>();
+        List<PipelineStep> removed = pipeline.getSteps().stream().filter(step -> !matched.containsValue(step)).toList();
+        removed.forEach(step -> releasedKeys.add(step.getConfigS3Key()));
+        pipeline.getSteps().removeAll(removed);
+
+        for (PipelineStepDto stepDto : incoming) {
+            PipelineStep step = matched.get(stepDto);
+            if (step == null) {
+                pipeline.getSteps().add(newStep(pipeline, stepDto));
+            } else {
+                applyStep(step, stepDto, false, releasedKeys);
             }
-            newSteps.add(step);
         }
-        pipeline.getSteps().addAll(newSteps);
 
         Pipeline saved = pipelineRepository.save(pipeline);
+        scheduleService.index(saved);
+        configSearchService.index(saved);
 
-        // Delete old S3 objects after successful save
-        oldS3Keys.forEach(key -> {
-            try {
-                s3StorageService.delete(key);
-            } catch (Exception e) {
-                System.err.println("Failed to delete old S3 object: " + key);
+        // Drop references to replaced S3 objects only after the new references were taken above,
+        // so objects shared with the new steps are kept (the deletes are applied by the outbox after commit)
+        releasedKeys.forEach(configStorageService::release);
+
+        return mapToResponse(saved, configsFromSteps(saved));
+    }
+
+    @Override
+    @Transactional
+    public PipelineResponseDto patchPipeline(Long id, PipelinePatchDto dto) {
+        Pipeline pipeline = pipelineRepository.findById(id).orElseThrow(() -> new PipelineNotFoundException(id));
+
+        Optional.ofNullable(dto.getName()).ifPresent(pipeline::setName);
+        Optional.ofNullable(dto.getDescription()).ifPresent(pipeline::setDescription);
+        Optional.ofNullable(dto.getEnabled()).ifPresent(pipeline::setEnabled);
+        Optional.ofNullable(dto.getScheduleType()).ifPresent(pipeline::setScheduleType);
+        Optional.ofNullable(dto.getScheduleTime()).ifPresent(pipeline::setScheduleTime);
+        Optional.ofNullable(dto.getScheduleDay()).ifPresent(pipeline::setScheduleDay);
+        Optional.ofNullable(dto.getScheduleDayOfMonth()).ifPresent(pipeline::setScheduleDayOfMonth);
+        Optional.ofNullable(dto.getCronExpression()).ifPresent(pipeline::setCronExpression);
+        pipeline.setUpdatedAt(Instant.now());
+
+        List<String> releasedKeys = new ArrayList<>();
+        if (dto.getRemoveStepOrders() != null && !dto.getRemoveStepOrders().isEmpty()) {
+            List<PipelineStep> removed = pipeline.getSteps().stream().filter(step -> dto.getRemoveStepOrders().contains(step.getStepOrder())).toList();
+            removed.forEach(step -> releasedKeys.add(step.getConfigS3Key()));
+            pipeline.getSteps().removeAll(removed);
+        }
+
+        if (dto.getSteps() != null) {
+            for (PipelineStepDto stepDto : dto.getSteps()) {
+                Optional<PipelineStep> existing = pipeline.getSteps().stream().filter(step -> step.getStepOrder() == stepDto.getStepOrder()).findFirst();
+                if (existing.isPresent()) {
+                    applyStep(existing.get(), stepDto, true, releasedKeys);
+                } else {
+                    pipeline.getSteps().add(newStep(pipeline, stepDto));
+                }
             }
-        });
+        }
+
+        Pipeline saved = pipelineRepository.save(pipeline);
+        scheduleService.index(saved);
+        configSearchService.index(saved);
+        releasedKeys.forEach(configStorageService::release);
 
-        return mapToResponse(saved);
+        return mapToResponse(saved, configsFromSteps(saved));
     }
 
     @Override
+    @Transactional
     public void togglePipeline(Long id, boolean enabled) {
-        Pipeline pipeline = pipelineRepository.findById(id).orElseThrow(() -> new PipelineNotFoundException(id));
-        pipeline.setEnabled(enabled);
-        pipelineRepository.save(pipeline);
+        // Same statement as the bulk update, so both set updatedAt (the keyset sort key) alike
+        List<Long> updatedIds = pipelineRepository.updateEnabled(List.of(id), null, enabled, Instant.now());
+        if (updatedIds.isEmpty()) {
+            throw new PipelineNotFoundException(id);
+        }
+        scheduleService.reindex(updatedIds);
+    }
+
+    @Override
+    @Transactional
+    public PipelineStatusResultDto updateStatus(PipelineStatusUpdateDto request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && !hasCriteria(request.getFilter())) {
+            throw new IllegalArgumentException("Bulk status update needs ids or at least one filter criterion");
+        }
+
+        List<Long> updatedIds = pipelineRepository.updateEnabled(request.getIds(), request.getFilter(), request.isEnabled(), Instant.now());
+        scheduleService.reindex(updatedIds);
+
+        List<Long> notFoundIds = List.of();
+        if (hasIds) {
+            Set<Long> updated = new HashSet<>(updatedIds);
+            notFoundIds = request.getIds().stream().filter(id -> !updated.contains(id)).distinct().toList();
+        }
+        return PipelineStatusResultDto.builder().enabled(request.isEnabled()).updatedIds(updatedIds).notFoundIds(notFoundIds).build();
     }
 
     @Override
@@ -138,17 +254,12 @@ public class PipelineServiceImpl implements PipelineService {
     public void deletePipeline(Long id) {
         Pipeline pipeline = pipelineRepository.findById(id).orElseThrow(() -> new PipelineNotFoundException(id));
 
-        // Delete S3 objects for all steps
-        pipeline.getSteps().stream().map(PipelineStep::getConfigS3Key).filter(key -> key != null && !key.isBlank()).forEach(key -> {
-            try {
-                s3StorageService.delete(key);
-            } catch (Exception e) {
-                // Log but don't fail the deletion
-                System.err.println("Failed to delete S3 object: " + key);
-            }
-        });
+        // Release S3 objects for all steps (deleted after commit once no other pipeline references them)
+        pipeline.getSteps().stream().map(PipelineStep::getConfigS3Key).filter(key -> key != null && !key.isBlank()).forEach(configStorageService::release);
 
         pipelineRepository.deleteById(id);
+        scheduleService.unindex(id);
+        configSearchService.unindex(id);
     }
 
     @Override
@@ -159,27 +270,21 @@ public class PipelineServiceImpl implements PipelineService {
         Pipeline copy =
                 Pipeline.builder().name(original.getName() + " (Copy)").description(original.getDescription()).enabled(false).scheduleType(original.getScheduleType()).scheduleTime(original.getScheduleTime()).scheduleDay(original.getScheduleDay()).scheduleDayOfMonth(original.getScheduleDayOfMonth()).cronExpression(original.getCronExpression()).createdAt(Instant.now()).updatedAt(Instant.now()).build();
 
-        // Save to get ID for S3 key generation
-        copy = pipelineRepository.save(copy);
+        // Shared content-addressed objects only gain a reference; legacy objects are copied server-side.
+        // Either way no config bytes pass through this service.
+        List<String> sourceKeys =
+                original.getSteps().stream().map(PipelineStep::getConfigS3Key).filter(key -> key != null && !key.isBlank()).toList();
+        Map<String, String> copiedKeys = configStorageService.copyAll(sourceKeys);
 
         List<PipelineStep> copiedSteps = new ArrayList<>();
         for (PipelineStep originalStep : original.getSteps()) {
             PipelineStep.PipelineStepBuilder stepBuilder =
                     PipelineStep.builder().stepName(originalStep.getStepName()).stepType(originalStep.getStepType()).stepOrder(originalStep.getStepOrder()).configType(originalStep.getConfigType()).pipeline(copy);
 
-            String content = null;
-            if (originalStep.getConfigS3Key() != null && !originalStep.getConfigS3Key().isBlank()) {
-                // Config stored in S3, fetch it
-                content = s3StorageService.get(originalStep.getConfigS3Key()).orElse(null);
-            }
-
-            if (content != null && !content.isBlank()) {
-                // Upload to S3 with new key for the copy
-                String key = generateS3Key(copy.getId(), originalStep.getStepOrder(), originalStep.getConfigType());
-                String contentType = originalStep.getConfigType() == ConfigType.YAML ? "text/yaml" : "application/json";
-                s3StorageService.upload(key, content, contentType);
-                stepBuilder.configS3Key(key);
-                stepBuilder.configContent(content);
+            String sourceKey = originalStep.getConfigS3Key();
+            if (sourceKey != null && copiedKeys.containsKey(sourceKey)) {
+                stepBuilder.configS3Key(copiedKeys.get(sourceKey));
+                stepBuilder.configContent(originalStep.getConfigContent());
             }
 
             copiedSteps.add(stepBuilder.build());
@@ -187,12 +292,304 @@ public class PipelineServiceImpl implements PipelineService {
 
         copy.setSteps(copiedSteps);
         Pipeline saved = pipelineRepository.save(copy);
+        configSearchService.index(saved);
+
+        return mapToResponse(saved, configsFromSteps(saved));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPipelines(OutputStream out) {
+        // Forward-only cursor, one chunk of entities in memory at a time
+        pipelineRepository.scrollAll(bulkChunkSize, chunk -> writeExportChunk(chunk, out));
+    }
+
+    @Override
+    public PipelineImportResultDto importPipelines(InputStream in) {
+        int imported = 0;
+        int failed = 0;
+        List<String> errors = new ArrayList<>();
+        List<PipelineRequestDto> chunk = new ArrayList<>(bulkChunkSize);
+        int lineNumber = 0;
+        int chunkFirstLine = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(objectMapper.readValue(line, PipelineRequestDto.class));
+                } catch (JsonProcessingException e) {
+                    failed++;
+                    addImportError(errors, "line " + lineNumber + ": " + e.getOriginalMessage());
+                    continue;
+                }
+                if (chunk.size() == 1) {
+                    chunkFirstLine = lineNumber;
+                }
+                if (chunk.size() == bulkChunkSize) {
+                    int saved = importChunk(chunk, chunkFirstLine, lineNumber, errors);
+                    imported += saved;
+                    failed += chunk.size() - saved;
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int saved = importChunk(chunk, chunkFirstLine, lineNumber, errors);
+                imported += saved;
+                failed += chunk.size() - saved;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read pipeline import", e);
+        }
+
+        return PipelineImportResultDto.builder().imported(imported).failed(failed).errors(errors).build();
+    }
+
+    @Override
+    public void uploadStepConfig(Long pipelineId, int stepOrder, InputStream content, ConfigType configType) {
+        PipelineStep step = pipelineStepRepository.findByPipelineIdAndStepOrder(pipelineId, stepOrder).orElseThrow(() -> new PipelineStepNotFoundException(pipelineId, stepOrder));
+        ConfigType type = configType != null ? configType : step.getConfigType();
+        if (type == null) {
+            // Raw bytes of unknown type: nothing to store them as, or to serve them back with
+            throw new UnsupportedConfigTypeException(stepOrder);
+        }
+
+        // Staged in S3 outside any transaction, so no DB connection waits on the upload.
+        // The body is validated, and tokenized for search, in one parse as it streams through; the upload is of
+        // unknown length, so it only completes once the end of the body is read, which is where an invalid config fails it
+        ConfigTokenizer tokenizer = new ConfigTokenizer();
+        StagedConfig staged;
+        try (ValidatingInputStream body = stepConfigValidator.validating(stepOrder, step.getStepType(), type, content, tokenizer)) {
+            try {
+                staged = configStorageService.stage(body, type);
+            } catch (RuntimeException e) {
+                throw body.failure() != null ? body.failure() : e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the config of step " + stepOrder, e);
+        }
+
+        // A rollback leaves the staged objects to the outbox cleanup reserved by stage
+        transactionTemplate.executeWithoutResult(status -> {
+            PipelineStep current = pipelineStepRepository.findById(step.getId()).orElseThrow(() -> new PipelineStepNotFoundException(pipelineId, stepOrder));
+            String oldKey = current.getConfigS3Key();
+            current.setConfigS3Key(configStorageService.commit(staged));
+            current.setConfigType(type);
+            // Not copied into the DB: S3 holds the only copy of streamed configs, and the index their tokens
+            current.setConfigContent(null);
+            pipelineStepRepository.save(current);
+            configStorageService.release(oldKey);
+            configSearchService.registerTokens(staged.s3Key(), tokenizer.tokens());
+            configSearchService.index(current.getPipeline());
+        });
+    }
+
+    @Override
+    public S3ObjectStreamDto openStepConfig(Long pipelineId, int stepOrder, String range, String ifNoneMatch) {
+        PipelineStep step = pipelineStepRepository.findByPipelineIdAndStepOrder(pipelineId, stepOrder).orElseThrow(() -> new PipelineStepNotFoundException(pipelineId, stepOrder));
+        String contentType = step.getConfigType() != null ? step.getConfigType().getContentType() : "application/octet-stream";
+
+        if (step.getConfigS3Key() != null && !step.getConfigS3Key().isBlank()) {
+            Optional<S3ObjectStreamDto> object = s3StorageService.openStream(step.getConfigS3Key(), range, ifNoneMatch);
+            if (object.isPresent()) {
+                S3ObjectStreamDto stream = object.get();
+                stream.setContentType(contentType);
+                return stream;
+            }
+        }
+
+        // Not in S3 (yet): serve the stored copy, whole; a full 200 is a valid answer to a Range request
+        byte[] content = step.getConfigContent() != null ? step.getConfigContent().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return S3ObjectStreamDto.builder().statusCode(200).body(new ByteArrayInputStream(content)).contentType(contentType).contentLength((long) content.length).build();
+    }
+
+    /**
+     * Pair incoming steps with existing ones: same order and name first, then same name (a reorder),
+     * then same order (a rename). Unpaired incoming steps are new; unpaired existing steps are removed.
+     */
+    private static Map<PipelineStepDto, PipelineStep> matchSteps(List<PipelineStep> existing, List<PipelineStepDto> incoming) {
+        Map<PipelineStepDto, PipelineStep> matched = new IdentityHashMap<>();
+        List<PipelineStep> unmatched = new ArrayList<>(existing);
+
+        List<BiPredicate<PipelineStep, PipelineStepDto>> rules = List.of(
+                (step, dto) -> step.getStepOrder() == dto.getStepOrder() && Objects.equals(step.getStepName(), dto.getStepName()),
+                (step, dto) -> dto.getStepName() != null && dto.getStepName().equals(step.getStepName()),
+                (step, dto) -> step.getStepOrder() == dto.getStepOrder());
+        for (BiPredicate<PipelineStep, PipelineStepDto> rule : rules) {
+            for (PipelineStepDto dto : incoming) {
+                if (matched.containsKey(dto)) {
+                    continue;
+                }
+                unmatched.stream().filter(step -> rule.test(step, dto)).findFirst().ifPresent(step -> {
+                    matched.put(dto, step);
+                    unmatched.remove(step);
+                });
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Save one chunk of imported pipelines in its own transaction: one batched round of inserts per chunk,
+     * and the chunk's new configs are uploaded by the parallel outbox workers after commit.
+     * Returns the number saved (all or none).
+     */
+    private int importChunk(List<PipelineRequestDto> chunk, int firstLine, int lastLine, List<String> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                pipelineRepository.saveAll(chunk.stream().map(this::newPipeline).toList()).forEach(saved -> {
+                    scheduleService.index(saved);
+                    configSearchService.index(saved);
+                });
+                // Flush and drop the entities, so the persistence context never holds more than one chunk
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return chunk.size();
+        } catch (RuntimeException e) {
+            addImportError(errors, "lines " + firstLine + "-" + lastLine + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static boolean hasCriteria(PipelineFilterDto filter) {
+        return filter != null && (filter.getEnabled() != null || filter.getScheduleType() != null || filter.getStepType() != null
+                || (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()));
+    }
+
+    private static void addImportError(List<String> errors, String error) {
+        if (errors.size() < MAX_IMPORT_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    private void writeExportChunk(List<Pipeline> chunk, OutputStream out) {
+        List<Long> ids = chunk.stream().map(Pipeline::getId).toList();
+        Map<Long, List<PipelineStep>> steps = pipelineStepRepository.findByPipelineIdInOrderByPipelineIdAscStepOrderAsc(ids).stream().collect(Collectors.groupingBy(s -> s.getPipeline().getId()));
+
+        // Streamed configs have no stored copy; fetch the chunk's in one parallel round
+        List<String> missing = steps.values().stream().flatMap(List::stream).filter(s -> s.getConfigContent() == null && s.getConfigS3Key() != null && !s.getConfigS3Key().isBlank()).map(PipelineStep::getConfigS3Key).distinct().toList();
+        Map<String, String> streamed = missing.isEmpty() ? Map.of() : s3StorageService.getAll(missing);
+
+        try {
+            for (Pipeline pipeline : chunk) {
+                out.write(objectMapper.writeValueAsBytes(toRequestDto(pipeline, steps.getOrDefault(pipeline.getId(), List.of()), streamed)));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write pipeline export", e);
+        }
+    }
+
+    private static PipelineRequestDto toRequestDto(Pipeline pipeline, List<PipelineStep> steps, Map<String, String> streamed) {
+        return PipelineRequestDto.builder().name(pipeline.getName()).description(pipeline.getDescription()).enabled(pipeline.isEnabled()).scheduleType(pipeline.getScheduleType()).scheduleTime(pipeline.getScheduleTime()).scheduleDay(pipeline.getScheduleDay()).scheduleDayOfMonth(pipeline.getScheduleDayOfMonth()).cronExpression(pipeline.getCronExpression()).steps(steps.stream().map(s -> {
+            // A step without a config has no key to look up (Map.of rejects a null key)
+            String config = s.getConfigContent() != null || s.getConfigS3Key() == null ? s.getConfigContent() : streamed.get(s.getConfigS3Key());
+            return new PipelineStepDto(s.getStepName(), s.getStepType(), s.getStepOrder(), s.getConfigType(), config);
+        }).collect(Collectors.toList())).build();
+    }
+
+    private Pipeline newPipeline(PipelineRequestDto request) {
+        Pipeline pipeline =
+                Pipeline.builder().name(request.getName()).description(request.getDescription()).enabled(request.isEnabled()).scheduleType(request.getScheduleType()).scheduleTime(request.getScheduleTime()).scheduleDay(request.getScheduleDay()).scheduleDayOfMonth(request.getScheduleDayOfMonth()).cronExpression(request.getCronExpression()).createdAt(Instant.now()).build();
+
+        List<PipelineStep> steps = new ArrayList<>();
+        if (request.getSteps() != null) {
+            for (PipelineStepDto stepDto : request.getSteps()) {
+                steps.add(newStep(pipeline, stepDto));
+            }
+        }
+        pipeline.setSteps(steps);
+        return pipeline;
+    }
+
+    private PipelineStep newStep(Pipeline pipeline, PipelineStepDto dto) {
+        PipelineStep step = PipelineStep.builder().stepOrder(dto.getStepOrder()).pipeline(pipeline).build();
+        applyStep(step, dto, false, new ArrayList<>());
+        return step;
+    }
+
+    /**
+     * Copy a step DTO onto a step entity. Only differing values are set, so Hibernate's dirty checking skips
+     * the UPDATE for unchanged steps. A config is re-stored only when its content hash changed; keys the step
+     * no longer references are added to releasedKeys for the caller to release after save.
+     * In partial mode null DTO fields (and a null config) leave the current value.
+     * Configs are validated before they are stored, so a rejected config never reaches S3.
+     */
+    private void applyStep(PipelineStep step, PipelineStepDto dto, boolean partial, List<String> releasedKeys) {
+        StepType previousStepType = step.getStepType();
+        if (!partial || dto.getStepName() != null) {
+            setIfChanged(step.getStepName(), dto.getStepName(), step::setStepName);
+        }
+        if (!partial || dto.getStepType() != null) {
+            setIfChanged(step.getStepType(), dto.getStepType(), step::setStepType);
+        }
+        setIfChanged(step.getStepOrder(), dto.getStepOrder(), step::setStepOrder);
+
+        ConfigType previousType = step.getConfigType();
+        if (!partial || dto.getConfigType() != null) {
+            setIfChanged(step.getConfigType(), dto.getConfigType(), step::setConfigType);
+        }
+
+        String content = dto.getConfigContent();
+        if (partial && content == null) {
+            // Config untouched, unless its type (or the step type it is validated for) changed and the content
+            // is in hand to be re-stored or re-validated
+            if ((step.getConfigType() == previousType && step.getStepType() == previousStepType) || step.getConfigContent() == null) {
+                return;
+            }
+            content = step.getConfigContent();
+        }
+
+        String oldKey = step.getConfigS3Key();
+        if (content != null) {
+            // Keep the DB copy byte-identical to the S3 object, which the DB fallback stands in for
+            content = configStorageService.normalize(content);
+        }
+        if (content == null || content.isBlank()) {
+            if (oldKey != null) {
+                releasedKeys.add(oldKey);
+                step.setConfigS3Key(null);
+                step.setConfigContent(null);
+            }
+            return;
+        }
 
-        return mapToResponse(saved);
+        // Content-addressed: the same content maps to the same key, so an unchanged config costs a hash and nothing else
+        if (configStorageService.keyOf(content, step.getConfigType()).equals(oldKey)) {
+            // Same config, but a new step type may hold it to a different schema
+            if (step.getStepType() != previousStepType) {
+                stepConfigValidator.validate(step.getStepOrder(), step.getStepType(), step.getConfigType(), content);
+            }
+            return;
+        }
+        stepConfigValidator.validate(step.getStepOrder(), step.getStepType(), step.getConfigType(), content);
+        step.setConfigS3Key(configStorageService.store(content, step.getConfigType()));
+        step.setConfigContent(content);
+        if (oldKey != null) {
+            releasedKeys.add(oldKey);
+        }
     }
 
+    private static <T> void setIfChanged(T current, T value, Consumer<T> setter) {
+        if (!Objects.equals(current, value)) {
+            setter.accept(value);
+        }
+    }
 
     private PipelineResponseDto mapToResponse(Pipeline pipeline) {
+        // Fetch all step configs in one parallel round instead of one S3 call per step
+        List<String> keys =
+                pipeline.getSteps().stream().map(PipelineStep::getConfigS3Key).filter(key -> key != null && !key.isBlank()).toList();
+        return mapToResponse(pipeline, s3StorageService.getAll(keys));
+    }
+
+    private PipelineResponseDto mapToResponse(Pipeline pipeline, Map<String, String> configs) {
         return PipelineResponseDto.builder().id(pipeline.getId()).name(pipeline.getName()).description(pipeline.getDescription()).enabled(pipeline.isEnabled()).scheduleType(pipeline.getScheduleType()).scheduleTime(pipeline.getScheduleTime()).scheduleDay(pipeline.getScheduleDay()).scheduleDayOfMonth(pipeline.getScheduleDayOfMonth()).cronExpression(pipeline.getCronExpression()).steps(pipeline.getSteps().stream().map(s -> {
             PipelineStepDto dto = new PipelineStepDto();
             dto.setStepName(s.getStepName());
@@ -202,7 +599,8 @@ public class PipelineServiceImpl implements PipelineService {
 
             String config = null;
             if (s.getConfigS3Key() != null && !s.getConfigS3Key().isBlank()) {
-                config = s3StorageService.get(s.getConfigS3Key()).orElse("");
+                // Fall back to the stored copy while the outbox has not uploaded the object yet
+                config = configs.getOrDefault(s.getConfigS3Key(), s.getConfigContent() != null ? s.getConfigContent() : "");
             }
             dto.setConfigContent(config);
 
@@ -210,6 +608,25 @@ public class PipelineServiceImpl implements PipelineService {
         }).collect(Collectors.toList())).build();
     }
 
+    private PipelineSummaryDto toSummaryDto(PipelineSummaryView p, List<StepType> stepTypes) {
+        return PipelineSummaryDto.builder().id(p.getId()).name(p.getName()).description(p.getDescription()).enabled(p.isEnabled()).scheduleDescription(getScheduleDescription(p.getScheduleType(), p.getScheduleDay(), p.getScheduleDayOfMonth(), p.getScheduleTime(), p.getCronExpression())).stepCount((int) p.getStepCount()).stepTypes(stepTypes).build();
+    }
+
+    /**
+     * Config content by S3 key from the steps themselves, for responses where the content is already in hand.
+     * Only streamed configs, which have no stored copy, are fetched from S3.
+     */
+    private Map<String, String> configsFromSteps(Pipeline pipeline) {
+        Map<String, String> configs = new HashMap<>();
+        pipeline.getSteps().stream().filter(s -> s.getConfigS3Key() != null && s.getConfigContent() != null).forEach(s -> configs.put(s.getConfigS3Key(), s.getConfigContent()));
+
+        List<String> missing = pipeline.getSteps().stream().map(PipelineStep::getConfigS3Key).filter(key -> key != null && !key.isBlank() && !configs.containsKey(key)).distinct().toList();
+        if (!missing.isEmpty()) {
+            configs.putAll(s3StorageService.getAll(missing));
+        }
+        return configs;
+    }
+
     public String getScheduleDescription(ScheduleType scheduleType, DayOfWeek scheduleDay, Integer scheduleDayOfMonth
             , LocalTime scheduleTime, String cronExpression) {
         if (scheduleType == null) {
@@ -245,8 +662,21 @@ public class PipelineServiceImpl implements PipelineService {
         }
     }
 
-    private String generateS3Key(Long pipelineId, Integer stepOrder, ConfigType configType) {
-        String ext = configType == ConfigType.YAML ? ".yaml" : ".json";
-        return String.format("pipelines/%d/steps/%d-%s%s", pipelineId, stepOrder, UUID.randomUUID(), ext);
+    private static String encodeCursor(PipelineKey key) {
+        String raw = key.updatedAt() + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PipelineKey decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new PipelineKey(Long.parseLong(raw.substring(sep + 1)), Instant.parse(raw.substring(0, sep)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pipeline page cursor: " + cursor);
+        }
     }
 }
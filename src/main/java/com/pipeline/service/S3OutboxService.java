@@ -0,0 +1,53 @@
+package com.pipeline.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional outbox for S3 side effects
+ * Puts, copies and deletes are recorded with the database change and applied in the background after commit,
+ * so no transaction waits on S3 and a rollback never leaves stray objects behind
+ */
+public interface S3OutboxService {
+
+    /**
+     * Record an upload as part of the current transaction
+     */
+    void enqueuePut(String s3Key, String content, String contentType);
+
+    /**
+     * Record a server-side copy as part of the current transaction; the source is deleted once it is copied.
+     * Like a put, the copy is skipped if the destination is no longer referenced by then.
+     */
+    void enqueueCopy(String sourceKey, String destinationKey);
+
+    /**
+     * Record deletions as part of the current transaction
+     */
+    void enqueueDelete(Collection<String> s3Keys);
+
+    /**
+     * Reserve the deletion of objects about to be written outside any transaction (e.g. server-side copies).
+     * The entries are committed at once, on their own, and fall due after the cleanup delay, so the objects are
+     * removed even if the caller's transaction never commits or this process dies first. Returns the entry ids.
+     */
+    List<Long> scheduleCleanup(Collection<String> s3Keys);
+
+    /**
+     * Keep reserved objects: the reservations are dropped as part of the current transaction.
+     * If it rolls back they are made due at once instead.
+     */
+    void cancelCleanup(Collection<Long> entryIds);
+
+    /**
+     * Make reserved deletions due now, e.g. when the write they guarded failed
+     */
+    void cleanupNow(Collection<Long> entryIds);
+
+    /**
+     * Lease one batch of due entries, apply them to S3 outside any transaction, then remove them; failures are
+     * kept for retry with backoff and dead-lettered once they reach the attempt limit.
+     * Returns the number of entries processed.
+     */
+    int dispatchDue();
+}
@@ -0,0 +1,376 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.S3OutboxOperation;
+import com.pipeline.model.ConfigObject;
+import com.pipeline.model.S3OutboxEntry;
+import com.pipeline.repository.ConfigObjectRepository;
+import com.pipeline.repository.S3OutboxEntryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+@Slf4j
+public class S3OutboxServiceImpl implements S3OutboxService {
+
+    // DeleteObjects accepts at most 1000 keys per request
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final S3OutboxEntryRepository outboxRepository;
+    private final ConfigObjectRepository configObjectRepository;
+    private final S3StorageService s3StorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final int workers;
+    private final ExecutorService workerPool;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "s3-outbox");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    @Value("${pipeline.s3.outbox.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${pipeline.s3.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${pipeline.s3.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    // How long a worker holds its entries; must exceed the time a batch of S3 calls can take
+    @Value("${pipeline.s3.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // How long a cleanup reservation waits for the transaction that may still keep its objects
+    @Value("${pipeline.s3.outbox.cleanup-delay-seconds:3600}")
+    private long cleanupDelaySeconds;
+
+    public S3OutboxServiceImpl(S3OutboxEntryRepository outboxRepository,
+                               ConfigObjectRepository configObjectRepository,
+                               S3StorageService s3StorageService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${pipeline.s3.outbox.workers:4}") int workers) {
+        this.outboxRepository = outboxRepository;
+        this.configObjectRepository = configObjectRepository;
+        this.s3StorageService = s3StorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.workers = Math.max(1, workers);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "s3-outbox-worker-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdown();
+        workerPool.shutdown();
+    }
+
+    @Override
+    @Transactional
+    public void enqueuePut(String s3Key, String content, String contentType) {
+        outboxRepository.save(S3OutboxEntry.builder()
+                .operation(S3OutboxOperation.PUT)
+                .s3Key(s3Key)
+                .payload(content)
+                .contentType(contentType)
+                .nextAttemptAt(Instant.now())
+                .build());
+        dispatchAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void enqueueCopy(String sourceKey, String destinationKey) {
+        outboxRepository.save(S3OutboxEntry.builder()
+                .operation(S3OutboxOperation.COPY)
+                .s3Key(destinationKey)
+                .sourceKey(sourceKey)
+                .nextAttemptAt(Instant.now())
+                .build());
+        dispatchAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void enqueueDelete(Collection<String> s3Keys) {
+        List<S3OutboxEntry> entries = deleteEntries(s3Keys, Instant.now());
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        outboxRepository.saveAll(entries);
+        dispatchAfterCommit();
+    }
+
+    @Override
+    public List<Long> scheduleCleanup(Collection<String> s3Keys) {
+        List<S3OutboxEntry> entries = deleteEntries(s3Keys, Instant.now().plusSeconds(cleanupDelaySeconds));
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        return newTransactionTemplate.execute(status -> outboxRepository.saveAll(entries).stream().map(S3OutboxEntry::getId).collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional
+    public void cancelCleanup(Collection<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(entryIds);
+        outboxRepository.deleteAllByIdInBatch(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    cleanupNow(ids);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void cleanupNow(Collection<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> outboxRepository.makeDue(entryIds, Instant.now()));
+            requestDispatch();
+        } catch (Exception e) {
+            // The reservations still fall due after the cleanup delay
+            log.warn("Failed to bring forward S3 cleanup of outbox entries {}", entryIds, e);
+        }
+    }
+
+    @Override
+    public int dispatchDue() {
+        String token = UUID.randomUUID().toString();
+        List<S3OutboxEntry> leased = lease(token);
+        if (leased.isEmpty()) {
+            return 0;
+        }
+
+        // S3 calls run outside any transaction: no connection or row lock is held while they are in flight
+        Map<Long, String> failures = apply(leased);
+        complete(leased, failures, token);
+        return leased.size();
+    }
+
+    /**
+     * Claim due entries and lease them to this worker in one short transaction.
+     * A put and a delete of the same key can be claimed by different workers, so an entry whose key another worker
+     * holds a live lease on is left for a later round: one key is applied by one worker at a time, and each reads the
+     * references only once the previous one's S3 call is done. Otherwise a delete decided on a stale read could
+     * remove an object another worker just put. The advisory locks keep two claims of the same key from both
+     * seeing it unleased.
+     */
+    private List<S3OutboxEntry> lease(String token) {
+        List<S3OutboxEntry> leased = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<S3OutboxEntry> due = outboxRepository.claimDue(now, batchLimit());
+            if (due.isEmpty()) {
+                return List.of();
+            }
+
+            outboxRepository.lockKeys(due.stream().map(S3OutboxEntry::getId).collect(Collectors.toList()));
+            Set<String> busy = new HashSet<>(outboxRepository.findLeasedKeys(
+                    due.stream().map(S3OutboxEntry::getS3Key).collect(Collectors.toSet()), now));
+            List<S3OutboxEntry> free = due.stream().filter(entry -> !busy.contains(entry.getS3Key())).collect(Collectors.toList());
+            if (!free.isEmpty()) {
+                outboxRepository.lease(free.stream().map(S3OutboxEntry::getId).collect(Collectors.toList()), token, now.plusSeconds(leaseSeconds));
+            }
+            return free;
+        });
+        return leased == null ? List.of() : leased;
+    }
+
+    /**
+     * Apply leased entries to S3; returns the error of each entry that failed
+     */
+    private Map<Long, String> apply(List<S3OutboxEntry> leased) {
+        Set<String> keys = leased.stream().map(S3OutboxEntry::getS3Key).collect(Collectors.toSet());
+
+        // Whether each key is still referenced decides what to do with it: a put whose object was released
+        // before it was uploaded is skipped, and a delete whose key was stored again is skipped
+        Set<String> referenced = configObjectRepository.findAllById(keys)
+                .stream()
+                .map(ConfigObject::getS3Key)
+                .collect(Collectors.toSet());
+
+        Map<Long, String> failures = new HashMap<>();
+
+        // Keys are content-addressed, so replaying a put after a crash just rewrites identical bytes
+        leased.stream()
+                .filter(entry -> entry.getOperation() == S3OutboxOperation.PUT && referenced.contains(entry.getS3Key()))
+                .forEach(entry -> {
+                    try {
+                        s3StorageService.upload(entry.getS3Key(), entry.getPayload(), entry.getContentType());
+                    } catch (Exception e) {
+                        failures.put(entry.getId(), String.valueOf(e.getMessage()));
+                    }
+                });
+
+        // A copy whose destination is still referenced is made first; either way its source is then deleted
+        Map<S3OutboxEntry, String> deletes = new LinkedHashMap<>();
+        for (S3OutboxEntry entry : leased) {
+            if (entry.getOperation() == S3OutboxOperation.DELETE && !referenced.contains(entry.getS3Key())) {
+                deletes.put(entry, entry.getS3Key());
+            } else if (entry.getOperation() == S3OutboxOperation.COPY) {
+                try {
+                    if (referenced.contains(entry.getS3Key())) {
+                        s3StorageService.copy(entry.getSourceKey(), entry.getS3Key());
+                    }
+                    deletes.put(entry, entry.getSourceKey());
+                } catch (Exception e) {
+                    failures.put(entry.getId(), String.valueOf(e.getMessage()));
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            try {
+                Map<String, String> deleteFailures = s3StorageService.deleteAll(List.copyOf(deletes.values()));
+                deletes.forEach((entry, key) -> {
+                    if (deleteFailures.containsKey(key)) {
+                        failures.put(entry.getId(), deleteFailures.get(key));
+                    }
+                });
+            } catch (Exception e) {
+                deletes.keySet().forEach(entry -> failures.put(entry.getId(), String.valueOf(e.getMessage())));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Remove applied entries and schedule retries in a second short transaction; an entry that has used up its
+     * attempts is dead-lettered instead. Entries whose lease was taken over in the meantime are left to the new holder.
+     */
+    private void complete(List<S3OutboxEntry> leased, Map<Long, String> failures, String token) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<Long> completed = leased.stream().map(S3OutboxEntry::getId).filter(id -> !failures.containsKey(id)).collect(Collectors.toList());
+            if (!completed.isEmpty()) {
+                outboxRepository.deleteLeased(completed, token);
+            }
+
+            List<S3OutboxEntry> deadLettered = new ArrayList<>();
+            for (S3OutboxEntry entry : leased) {
+                String error = failures.get(entry.getId());
+                if (error == null) {
+                    continue;
+                }
+                int attempts = entry.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    if (outboxRepository.deadLetter(entry.getId(), token, now, error) > 0) {
+                        deadLettered.add(entry);
+                    }
+                } else {
+                    outboxRepository.scheduleRetry(entry.getId(), token, now.plusSeconds(backoffSeconds(attempts)), error);
+                }
+            }
+
+            if (failures.size() > deadLettered.size()) {
+                log.warn("Failed to apply {} S3 outbox entries, will retry: {}", failures.size() - deadLettered.size(), failures);
+            }
+            deadLettered.forEach(entry -> log.error("Dead-lettered S3 outbox entry {} ({} {}) after {} attempts: {}",
+                    entry.getId(), entry.getOperation(), entry.getS3Key(), maxAttempts, failures.get(entry.getId())));
+            log.debug("Processed {} S3 outbox entries ({} applied, {} failed)", leased.size(), completed.size(), failures.size());
+        });
+    }
+
+    /**
+     * Periodic sweep for retries and for any dispatch that was missed (e.g. pod restart right after commit).
+     * Each worker claims its own batches with SKIP LOCKED, so workers never overlap; entries of the same key in
+     * different batches are applied one lease at a time.
+     */
+    @Scheduled(fixedDelayString = "${pipeline.s3.outbox.retry-interval-ms:30000}")
+    public void dispatch() {
+        CompletableFuture.allOf(IntStream.range(0, workers)
+                .mapToObj(i -> CompletableFuture.runAsync(this::drain, workerPool))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void drain() {
+        try {
+            while (dispatchDue() >= batchLimit()) {
+                // keep going while full batches are coming back
+            }
+        } catch (Exception e) {
+            log.error("S3 outbox dispatch failed", e);
+        }
+    }
+
+    private void dispatchAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestDispatch();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDispatch();
+            }
+        });
+    }
+
+    private void requestDispatch() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            coordinator.execute(() -> {
+                dispatchQueued.set(false);
+                dispatch();
+            });
+        }
+    }
+
+    private static List<S3OutboxEntry> deleteEntries(Collection<String> s3Keys, Instant nextAttemptAt) {
+        return s3Keys.stream()
+                .filter(key -> key != null && !key.isBlank())
+                .distinct()
+                .map(key -> S3OutboxEntry.builder().operation(S3OutboxOperation.DELETE).s3Key(key).nextAttemptAt(nextAttemptAt).build())
+                .collect(Collectors.toList());
+    }
+
+    private int batchLimit() {
+        return Math.min(batchSize, MAX_BATCH_SIZE);
+    }
+
+    private long backoffSeconds(int attempts) {
+        return Math.min(maxBackoffSeconds, 30L << Math.min(attempts - 1, 16));
+    }
+}
@@ -1,6 +1,14 @@
 package com.pipeline.service;
 
+import com.pipeline.dto.storage.S3ObjectDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface S3StorageService {
     /**
@@ -9,7 +17,54 @@ public interface S3StorageService {
      */
     String upload(String key, String content, String contentType);
 
+    /**
+     * Streams content to S3 without holding it in memory: a single PUT when it fits in one part,
+     * otherwise a multipart upload through one reusable part buffer. contentLength is -1 if unknown.
+     */
+    String upload(String key, InputStream content, long contentLength, String contentType);
+
     Optional<String> get(String key);
 
+    /**
+     * Conditional GET (If-None-Match). Returns notModified=true when the object still has the given ETag,
+     * otherwise the current content and ETag; empty if the object does not exist. A null eTag is a plain GET.
+     * Any other failure (throttling, 5xx, a broken read) is thrown, since it says nothing about the object.
+     */
+    Optional<S3ObjectDto> getIfNoneMatch(String key, String eTag);
+
+    /**
+     * Opens the object for streaming without reading it into memory, optionally for an HTTP byte range
+     * ("bytes=0-1023") and/or conditionally on an ETag. Empty if the object does not exist.
+     */
+    Optional<S3ObjectStreamDto> openStream(String key, String range, String ifNoneMatch);
+
+    /**
+     * Fetches the object on the S3 I/O pool without blocking the caller.
+     */
+    CompletableFuture<Optional<String>> getAsync(String key);
+
+    /**
+     * Fetches all given keys concurrently (bounded per call) and returns content by key.
+     * Keys that could not be read are absent from the returned map.
+     */
+    Map<String, String> getAll(Collection<String> keys);
+
+    /**
+     * Server-side copy (CopyObject); the object bytes never pass through this service.
+     */
+    void copy(String sourceKey, String destinationKey);
+
+    /**
+     * Issues server-side copies for all source -> destination pairs concurrently (bounded per call).
+     * Returns the source keys whose copy failed.
+     */
+    List<String> copyAll(Map<String, String> sourceToDestination);
+
     void delete(String key);
+
+    /**
+     * Deletes keys with DeleteObjects, up to 1000 keys per request.
+     * Returns the keys that could not be deleted, mapped to the S3 error.
+     */
+    Map<String, String> deleteAll(Collection<String> keys);
 }
@@ -1,24 +1,86 @@
 package com.pipeline.service;
-import lombok.RequiredArgsConstructor;
+import com.pipeline.dto.storage.S3ObjectDto;
+import com.pipeline.dto.storage.S3ObjectStreamDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class S3StorageServiceImpl implements S3StorageService {
 
+    // DeleteObjects accepts at most 1000 keys per request
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    // S3 rejects multipart parts (other than the last) smaller than 5 MiB
+    private static final int MIN_PART_SIZE_BYTES = 5 * 1024 * 1024;
+
     private final S3Client s3;
+
+    // Shared, bounded pool for S3 I/O so parallel fetches never exceed the HTTP connection pool
+    private final ExecutorService ioExecutor;
+
+    // Max in-flight requests a single getAll call may hold, so one large pipeline can't starve the pool
+    private final int fetchConcurrency;
+
+    // Streaming uploads above this size go multipart; also the size of the single reusable part buffer
+    private final int partSizeBytes;
+
     @Value("${aws.s3.bucket}")
     private String bucket;
 
+    public S3StorageServiceImpl(S3Client s3,
+                                @Value("${aws.s3.io-threads:32}") int ioThreads,
+                                @Value("${aws.s3.fetch-concurrency:16}") int fetchConcurrency,
+                                @Value("${aws.s3.multipart.part-size-bytes:8388608}") int partSizeBytes) {
+        this.s3 = s3;
+        this.fetchConcurrency = Math.max(1, fetchConcurrency);
+        this.partSizeBytes = Math.max(MIN_PART_SIZE_BYTES, partSizeBytes);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.ioExecutor = new ThreadPoolExecutor(ioThreads, ioThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "s3-io-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ioExecutor.shutdown();
+    }
+
     @Override
     public String upload(String key, String content, String contentType) {
         PutObjectRequest req = PutObjectRequest.builder()
@@ -32,24 +94,259 @@ public class S3StorageServiceImpl implements S3StorageService {
     }
 
     @Override
-    public Optional<String> get(String key) {
+    public String upload(String key, InputStream content, long contentLength, String contentType) {
+        // Known and small: stream straight through in one PUT
+        if (contentLength >= 0 && contentLength <= partSizeBytes) {
+            PutObjectRequest req = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+            s3.putObject(req, RequestBody.fromInputStream(content, contentLength));
+            return key;
+        }
+
         try {
-            GetObjectRequest req = GetObjectRequest.builder().bucket(bucket).key(key).build();
-            try (InputStream is = s3.getObject(req)) {
-                return Optional.of(new String(is.readAllBytes(), StandardCharsets.UTF_8));
+            // Unknown or large: fill one part first, so a small body of unknown length is still a single PUT
+            byte[] buffer = new byte[partSizeBytes];
+            int read = content.readNBytes(buffer, 0, partSizeBytes);
+            if (read < partSizeBytes) {
+                PutObjectRequest req = PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength((long) read)
+                        .build();
+                s3.putObject(req, RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read));
+                return key;
             }
-        } catch (S3Exception | IOException e) {
+            return multipartUpload(key, content, contentType, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload body for S3 key: " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        try {
+            return getIfNoneMatch(key, null).map(S3ObjectDto::getContent);
+        } catch (S3Exception | UncheckedIOException e) {
+            log.warn("Failed to read S3 key {}: {}", key, e.getMessage());
             return Optional.empty();
         }
     }
 
+    @Override
+    public Optional<S3ObjectDto> getIfNoneMatch(String key, String eTag) {
+        try {
+            GetObjectRequest.Builder req = GetObjectRequest.builder().bucket(bucket).key(key);
+            if (eTag != null) {
+                req.ifNoneMatch(eTag);
+            }
+            try (ResponseInputStream<GetObjectResponse> is = s3.getObject(req.build())) {
+                return Optional.of(S3ObjectDto.builder()
+                        .content(new String(is.readAllBytes(), StandardCharsets.UTF_8))
+                        .eTag(is.response().eTag())
+                        .build());
+            }
+        } catch (S3Exception e) {
+            if (e.statusCode() == 304) {
+                return Optional.of(S3ObjectDto.builder().eTag(eTag).notModified(true).build());
+            }
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read S3 key: " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<S3ObjectStreamDto> openStream(String key, String range, String ifNoneMatch) {
+        GetObjectRequest.Builder req = GetObjectRequest.builder().bucket(bucket).key(key);
+        if (range != null && !range.isBlank()) {
+            req.range(range);
+        }
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+            req.ifNoneMatch(ifNoneMatch);
+        }
+
+        try {
+            ResponseInputStream<GetObjectResponse> is = s3.getObject(req.build());
+            GetObjectResponse resp = is.response();
+            return Optional.of(S3ObjectStreamDto.builder()
+                    .statusCode(resp.contentRange() != null ? 206 : 200)
+                    .body(is)
+                    .contentType(resp.contentType())
+                    .contentLength(resp.contentLength())
+                    .contentRange(resp.contentRange())
+                    .eTag(resp.eTag())
+                    .build());
+        } catch (S3Exception e) {
+            if (e.statusCode() == 304 || e.statusCode() == 416) {
+                return Optional.of(S3ObjectStreamDto.builder().statusCode(e.statusCode()).eTag(ifNoneMatch).build());
+            }
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> getAsync(String key) {
+        return submit(() -> get(key));
+    }
+
+    @Override
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> result = new ConcurrentHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+
+        runBounded(new LinkedHashSet<>(keys), key -> getAsync(key)
+                .thenAccept(content -> content.ifPresent(c -> result.put(key, c))));
+        return result;
+    }
+
+    @Override
+    public void copy(String sourceKey, String destinationKey) {
+        CopyObjectRequest req = CopyObjectRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucket)
+                .destinationKey(destinationKey)
+                .build();
+
+        s3.copyObject(req);
+    }
+
+    @Override
+    public List<String> copyAll(Map<String, String> sourceToDestination) {
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        if (sourceToDestination == null || sourceToDestination.isEmpty()) {
+            return failed;
+        }
+
+        runBounded(sourceToDestination.keySet(), source -> CompletableFuture
+                .runAsync(() -> copy(source, sourceToDestination.get(source)), ioExecutor)
+                .exceptionally(ex -> {
+                    failed.add(source);
+                    return null;
+                }));
+        return failed;
+    }
+
     @Override
     public void delete(String key) {
         try {
             DeleteObjectRequest r = DeleteObjectRequest.builder().bucket(bucket).key(key).build();
             s3.deleteObject(r);
         } catch (S3Exception e) {
+            log.warn("Failed to delete S3 object {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, String> deleteAll(Collection<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        List<String> distinctKeys = keys.stream()
+                .filter(key -> key != null && !key.isBlank())
+                .distinct()
+                .toList();
+
+        for (int i = 0; i < distinctKeys.size(); i += DELETE_BATCH_SIZE) {
+            List<String> batch = distinctKeys.subList(i, Math.min(i + DELETE_BATCH_SIZE, distinctKeys.size()));
+            try {
+                DeleteObjectsRequest req = DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(Delete.builder()
+                                .quiet(true)
+                                .objects(batch.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                                .build())
+                        .build();
 
+                DeleteObjectsResponse resp = s3.deleteObjects(req);
+                resp.errors().forEach(err -> failures.put(err.key(), err.code() + ": " + err.message()));
+            } catch (SdkException e) {
+                batch.forEach(key -> failures.put(key, e.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Multipart upload reusing the given (already full) part buffer, so heap use is one part whatever the size
+     */
+    private String multipartUpload(String key, InputStream content, String contentType, byte[] buffer) throws IOException {
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int read = buffer.length;
+            int partNumber = 1;
+            while (read > 0) {
+                UploadPartRequest req = UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) read)
+                        .build();
+                String eTag = s3.uploadPart(req, RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+
+                partNumber++;
+                read = content.readNBytes(buffer, 0, buffer.length);
+            }
+
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            return key;
+        } catch (IOException | RuntimeException e) {
+            try {
+                s3.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build());
+            } catch (SdkException abortError) {
+                log.warn("Failed to abort multipart upload {} for {}", uploadId, key, abortError);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an S3 call on the shared I/O pool (also used by the caching decorator)
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, ioExecutor);
+    }
+
+    /**
+     * Starts one async S3 call per item, holding at most fetchConcurrency in flight, and waits for all of them
+     */
+    <T> void runBounded(Collection<T> items, Function<T, CompletableFuture<?>> call) {
+        Semaphore permits = new Semaphore(fetchConcurrency);
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (T item : items) {
+            if (item == null || (item instanceof String str && str.isBlank())) {
+                continue;
+            }
+            permits.acquireUninterruptibly();
+            CompletableFuture<?> future = call.apply(item);
+            future.whenComplete((result, ex) -> permits.release());
+            futures.add(future);
         }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
     }
 }
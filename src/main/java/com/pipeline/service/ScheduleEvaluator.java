@@ -0,0 +1,150 @@
+package com.pipeline.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pipeline.enums.ScheduleType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneRules;
+import java.util.Optional;
+
+/**
+ * Compiles pipeline schedules into cron expressions and evaluates their fire times
+ * Every schedule type maps onto a cron expression; each distinct expression is parsed once and cached
+ */
+@Component
+@Slf4j
+public class ScheduleEvaluator {
+
+    private static final int MAX_COMPILED = 10_000;
+
+    private final Cache<String, Optional<CronExpression>> compiled = Caffeine.newBuilder().maximumSize(MAX_COMPILED).build();
+
+    private final ZoneId zone;
+
+    public ScheduleEvaluator(@Value("${pipeline.schedule.zone:UTC}") String zone) {
+        this.zone = ZoneId.of(zone);
+    }
+
+    /**
+     * The compiled schedule, or empty for manual-only pipelines and invalid cron expressions
+     */
+    public Optional<CronExpression> compile(ScheduleType scheduleType, LocalTime scheduleTime, DayOfWeek scheduleDay,
+                                            Integer scheduleDayOfMonth, String cronExpression) {
+        String cron = toCron(scheduleType, scheduleTime, scheduleDay, scheduleDayOfMonth, cronExpression);
+        if (cron == null) {
+            return Optional.empty();
+        }
+        return compiled.get(cron, ScheduleEvaluator::parse);
+    }
+
+    /**
+     * First fire time strictly after the given instant, or null if the schedule never fires again
+     */
+    public Instant next(CronExpression cron, Instant after) {
+        ZonedDateTime next = cron.next(after.atZone(zone));
+        return next != null ? next.toInstant() : null;
+    }
+
+    /**
+     * Add the schedule's fire times from first (a fire time) up to the end of the window to the hour buckets of
+     * counts, which start at start. Cron fields are independent, so every local hour the schedule fires in holds
+     * the same fires (its seconds times its minutes): one such hour is counted fire by fire, and the rest of the
+     * window steps one firing hour at a time. The first bucket, and buckets that aren't one whole local hour
+     * (a DST change, an offset that isn't whole hours), are counted fire by fire.
+     */
+    public void countPerHour(CronExpression cron, Instant first, Instant start, int[] counts) {
+        Instant end = start.plus(counts.length, ChronoUnit.HOURS);
+        int firesPerHour = -1;
+        for (Instant fire = first; fire != null && fire.isBefore(end); ) {
+            int bucket = (int) Duration.between(start, fire).toHours();
+            Instant bucketEnd = start.plus(bucket + 1L, ChronoUnit.HOURS);
+            if (fire.equals(first) || !isWholeLocalHour(bucketEnd.minus(1, ChronoUnit.HOURS))) {
+                counts[bucket] += countFires(cron, fire, bucketEnd);
+            } else {
+                if (firesPerHour < 0) {
+                    firesPerHour = countFires(cron, fire, bucketEnd);
+                }
+                counts[bucket] += firesPerHour;
+            }
+            // First fire at or after the next bucket's start
+            fire = next(cron, bucketEnd.minusNanos(1));
+        }
+    }
+
+    /**
+     * Fire times in [from, to), from being one
+     */
+    private int countFires(CronExpression cron, Instant from, Instant to) {
+        int fires = 0;
+        for (Instant fire = from; fire != null && fire.isBefore(to); fire = next(cron, fire)) {
+            fires++;
+        }
+        return fires;
+    }
+
+    private boolean isWholeLocalHour(Instant hourStart) {
+        ZoneRules rules = zone.getRules();
+        ZoneOffset offset = rules.getOffset(hourStart);
+        return offset.getTotalSeconds() % 3600 == 0
+                && offset.equals(rules.getOffset(hourStart.plus(1, ChronoUnit.HOURS).minusNanos(1)))
+                && rules.getValidOffsets(LocalDateTime.ofInstant(hourStart, zone)).size() == 1;
+    }
+
+    /**
+     * Six-field (seconds first) cron for a schedule; time defaults to midnight, weekly to Sunday, monthly to the 1st
+     */
+    static String toCron(ScheduleType scheduleType, LocalTime scheduleTime, DayOfWeek scheduleDay,
+                         Integer scheduleDayOfMonth, String cronExpression) {
+        if (scheduleType == null) {
+            return null;
+        }
+
+        int minute = scheduleTime != null ? scheduleTime.getMinute() : 0;
+        int hour = scheduleTime != null ? scheduleTime.getHour() : 0;
+
+        switch (scheduleType) {
+            case HOURLY:
+                return "0 " + minute + " * * * *";
+            case DAILY:
+                return "0 " + minute + " " + hour + " * * *";
+            case WEEKLY:
+                DayOfWeek day = scheduleDay != null ? scheduleDay : DayOfWeek.SUNDAY;
+                return "0 " + minute + " " + hour + " * * " + day.name().substring(0, 3);
+            case MONTHLY:
+                // Cron semantics: day 29-31 skips the months that don't have it
+                int dayOfMonth = scheduleDayOfMonth != null ? scheduleDayOfMonth : 1;
+                return "0 " + minute + " " + hour + " " + dayOfMonth + " * *";
+            case CUSTOM:
+                if (cronExpression == null || cronExpression.isBlank()) {
+                    return null;
+                }
+                String cron = cronExpression.trim();
+                // Airflow-style five-field cron has no seconds field
+                return cron.split("\\s+").length == 5 ? "0 " + cron : cron;
+            default:
+                return null; // MANUAL
+        }
+    }
+
+    private static Optional<CronExpression> parse(String cron) {
+        try {
+            return Optional.of(CronExpression.parse(cron));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid cron expression '{}': {}", cron, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
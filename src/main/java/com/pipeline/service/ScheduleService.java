@@ -0,0 +1,40 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.schedule.HourlyRunCountDto;
+import com.pipeline.dto.schedule.UpcomingRunDto;
+import com.pipeline.model.Pipeline;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory index of the next fire time of every enabled, scheduled pipeline
+ */
+public interface ScheduleService {
+
+    /**
+     * Scheduled runs in the next hours, earliest first, at most limit of them
+     */
+    List<UpcomingRunDto> getUpcomingRuns(int hours, int limit);
+
+    /**
+     * Scheduled runs per clock hour across all pipelines, for the current and following hours
+     */
+    List<HourlyRunCountDto> getRunsPerHour(int hours);
+
+    /**
+     * Re-index a created or changed pipeline (after commit, if in a transaction); disabled pipelines are dropped
+     */
+    void index(Pipeline pipeline);
+
+    /**
+     * Re-index pipelines changed in bulk: their schedules are read now (inside the caller's transaction)
+     * and applied after commit
+     */
+    void reindex(Collection<Long> pipelineIds);
+
+    /**
+     * Drop a deleted pipeline from the index (after commit, if in a transaction)
+     */
+    void unindex(Long pipelineId);
+}
@@ -0,0 +1,262 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.schedule.HourlyRunCountDto;
+import com.pipeline.dto.schedule.UpcomingRunDto;
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.model.Pipeline;
+import com.pipeline.repository.PipelineRepository;
+import com.pipeline.repository.projection.PipelineScheduleView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Next-fire-time index over all enabled pipelines
+ * Entries are ordered by next fire time, so queries only touch pipelines that fire inside the asked window;
+ * entries whose time has passed are rolled forward lazily. Kept current by create/update/toggle/delete,
+ * and rebuilt periodically to pick up changes made by other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleServiceImpl implements ScheduleService {
+
+    private static final int MAX_WINDOW_HOURS = 24 * 7;
+
+    private static final int MAX_UPCOMING_RUNS = 1000;
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+
+    private static final Comparator<IndexedSchedule> BY_NEXT_FIRE = Comparator.comparing(IndexedSchedule::nextFire).thenComparing(IndexedSchedule::pipelineId);
+
+    private final PipelineRepository pipelineRepository;
+
+    private final ScheduleEvaluator scheduleEvaluator;
+
+    // Both guarded by this
+    private final TreeSet<IndexedSchedule> byNextFire = new TreeSet<>(BY_NEXT_FIRE);
+    private final Map<Long, IndexedSchedule> byPipelineId = new HashMap<>();
+
+    // Incremental changes that arrive while a rebuild is loading, replayed onto the rebuilt index; null when not rebuilding
+    private Map<Long, IndexedSchedule> changedDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.schedule.index.rebuild-interval-ms:600000}", initialDelayString = "${pipeline.schedule.index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashMap<>();
+        }
+
+        Instant now = Instant.now();
+        List<IndexedSchedule> entries = new ArrayList<>();
+        for (PipelineScheduleView p : pipelineRepository.findSchedulesByEnabledTrue()) {
+            IndexedSchedule entry = toEntry(p.getId(), p.getName(), p.getScheduleType(), p.getScheduleTime(), p.getScheduleDay(), p.getScheduleDayOfMonth(), p.getCronExpression(), now);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+
+        synchronized (this) {
+            byNextFire.clear();
+            byPipelineId.clear();
+            entries.forEach(entry -> put(entry.pipelineId(), entry));
+            changedDuringRebuild.forEach(this::put);
+            changedDuringRebuild = null;
+        }
+        log.debug("Indexed next fire times of {} scheduled pipelines", entries.size());
+    }
+
+    @Override
+    public List<UpcomingRunDto> getUpcomingRuns(int hours, int limit) {
+        Instant now = Instant.now();
+        Instant end = now.plus(clampHours(hours), ChronoUnit.HOURS);
+        int maxRuns = Math.max(1, Math.min(limit, MAX_UPCOMING_RUNS));
+
+        // No more than maxRuns pipelines can have a run in the answer: copy those out and merge without the lock
+        List<IndexedSchedule> firing = firingBefore(end, maxRuns, now);
+
+        // Merge the index (each pipeline's next run) with a heap of later runs of the pipelines already emitted;
+        // both are ordered, so the smaller head is always the next run overall
+        List<UpcomingRunDto> runs = new ArrayList<>();
+        PriorityQueue<IndexedSchedule> laterRuns = new PriorityQueue<>(BY_NEXT_FIRE);
+        Iterator<IndexedSchedule> firstRuns = firing.iterator();
+        IndexedSchedule nextFirstRun = firstRuns.hasNext() ? firstRuns.next() : null;
+
+        while (runs.size() < maxRuns) {
+            IndexedSchedule run;
+            if (nextFirstRun != null && (laterRuns.isEmpty() || BY_NEXT_FIRE.compare(nextFirstRun, laterRuns.peek()) <= 0)) {
+                run = nextFirstRun;
+                nextFirstRun = firstRuns.hasNext() ? firstRuns.next() : null;
+            } else if (!laterRuns.isEmpty()) {
+                run = laterRuns.poll();
+            } else {
+                break;
+            }
+            if (!run.nextFire().isBefore(end)) {
+                break;
+            }
+
+            runs.add(UpcomingRunDto.builder().pipelineId(run.pipelineId()).pipelineName(run.pipelineName()).fireTime(run.nextFire()).build());
+            Instant next = scheduleEvaluator.next(run.cron(), run.nextFire());
+            if (next != null && next.isBefore(end)) {
+                laterRuns.add(run.withNextFire(next));
+            }
+        }
+        return runs;
+    }
+
+    @Override
+    public List<HourlyRunCountDto> getRunsPerHour(int hours) {
+        Instant now = Instant.now();
+        Instant start = now.truncatedTo(ChronoUnit.HOURS);
+        int buckets = clampHours(hours);
+        Instant end = start.plus(buckets, ChronoUnit.HOURS);
+
+        int[] counts = new int[buckets];
+        for (IndexedSchedule entry : firingBefore(end, Integer.MAX_VALUE, now)) {
+            scheduleEvaluator.countPerHour(entry.cron(), entry.nextFire(), start, counts);
+        }
+
+        List<HourlyRunCountDto> result = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            result.add(HourlyRunCountDto.builder().hourStart(start.plus(i, ChronoUnit.HOURS)).runs(counts[i]).build());
+        }
+        return result;
+    }
+
+    @Override
+    public void index(Pipeline pipeline) {
+        Long id = pipeline.getId();
+        IndexedSchedule entry = pipeline.isEnabled() ?
+                toEntry(id, pipeline.getName(), pipeline.getScheduleType(), pipeline.getScheduleTime(), pipeline.getScheduleDay(), pipeline.getScheduleDayOfMonth(), pipeline.getCronExpression(), Instant.now()) :
+                null;
+        afterCommit(() -> apply(id, entry));
+    }
+
+    @Override
+    public void reindex(Collection<Long> pipelineIds) {
+        if (pipelineIds.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Map<Long, IndexedSchedule> entries = new HashMap<>();
+        pipelineIds.forEach(id -> entries.put(id, null)); // disabled or unscheduled unless found below
+        List<Long> ids = List.copyOf(pipelineIds);
+        for (int from = 0; from < ids.size(); from += REINDEX_BATCH_SIZE) {
+            for (PipelineScheduleView p : pipelineRepository.findSchedulesByIdInAndEnabledTrue(ids.subList(from, Math.min(from + REINDEX_BATCH_SIZE, ids.size())))) {
+                entries.put(p.getId(), toEntry(p.getId(), p.getName(), p.getScheduleType(), p.getScheduleTime(), p.getScheduleDay(), p.getScheduleDayOfMonth(), p.getCronExpression(), now));
+            }
+        }
+        afterCommit(() -> entries.forEach(this::apply));
+    }
+
+    @Override
+    public void unindex(Long pipelineId) {
+        afterCommit(() -> apply(pipelineId, null));
+    }
+
+    private synchronized void apply(Long pipelineId, IndexedSchedule entry) {
+        put(pipelineId, entry);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(pipelineId, entry);
+        }
+    }
+
+    /**
+     * Replace a pipeline's entry; a null entry removes it
+     */
+    private void put(Long pipelineId, IndexedSchedule entry) {
+        IndexedSchedule previous = entry != null ? byPipelineId.put(pipelineId, entry) : byPipelineId.remove(pipelineId);
+        if (previous != null) {
+            byNextFire.remove(previous);
+        }
+        if (entry != null) {
+            byNextFire.add(entry);
+        }
+    }
+
+    /**
+     * Snapshot of the first entries (at most max) whose next run is before end, taken under the lock after rolling
+     * passed entries forward; ordered by next fire time
+     */
+    private synchronized List<IndexedSchedule> firingBefore(Instant end, int max, Instant now) {
+        advance(now);
+        List<IndexedSchedule> firing = new ArrayList<>();
+        for (IndexedSchedule entry : byNextFire) {
+            if (firing.size() == max || !entry.nextFire().isBefore(end)) {
+                break; // ordered: no later pipeline fires inside the window
+            }
+            firing.add(entry);
+        }
+        return firing;
+    }
+
+    /**
+     * Roll entries whose fire time has passed forward to their next fire time
+     */
+    private void advance(Instant now) {
+        while (!byNextFire.isEmpty() && !byNextFire.first().nextFire().isAfter(now)) {
+            IndexedSchedule due = byNextFire.first();
+            Instant next = scheduleEvaluator.next(due.cron(), now);
+            put(due.pipelineId(), next != null ? due.withNextFire(next) : null);
+        }
+    }
+
+    private IndexedSchedule toEntry(Long pipelineId, String name, ScheduleType scheduleType, LocalTime scheduleTime, DayOfWeek scheduleDay,
+                                    Integer scheduleDayOfMonth, String cronExpression, Instant now) {
+        return scheduleEvaluator.compile(scheduleType, scheduleTime, scheduleDay, scheduleDayOfMonth, cronExpression)
+                .map(cron -> {
+                    Instant next = scheduleEvaluator.next(cron, now);
+                    return next != null ? new IndexedSchedule(pipelineId, name, cron, next) : null;
+                })
+                .orElse(null);
+    }
+
+    private static int clampHours(int hours) {
+        return Math.max(1, Math.min(hours, MAX_WINDOW_HOURS));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record IndexedSchedule(Long pipelineId, String pipelineName, CronExpression cron, Instant nextFire) {
+
+        IndexedSchedule withNextFire(Instant next) {
+            return new IndexedSchedule(pipelineId, pipelineName, cron, next);
+        }
+    }
+}
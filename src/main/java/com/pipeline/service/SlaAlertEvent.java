@@ -0,0 +1,11 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.approval.SlaAlertDto;
+
+import java.util.List;
+
+/**
+ * Application event for pending approval requests that moved to NEAR_BREACH or BREACHED
+ */
+public record SlaAlertEvent(List<SlaAlertDto> alerts) {
+}
@@ -0,0 +1,26 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.SlaStatus;
+
+import java.time.Instant;
+
+/**
+ * Service tracking the SLA deadlines of pending approval requests
+ */
+public interface SlaMonitorService {
+
+    /**
+     * Pending requests whose SLA deadline has passed
+     */
+    long getBreachedCount();
+
+    /**
+     * Pending requests inside the warning window before their SLA deadline
+     */
+    long getNearBreachCount();
+
+    /**
+     * The SLA status at now of a pending request with this deadline, by the warning window the counts use
+     */
+    SlaStatus statusAt(Instant slaDeadline, Instant now);
+}
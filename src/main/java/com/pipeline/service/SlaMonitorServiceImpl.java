@@ -0,0 +1,243 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import com.pipeline.dto.approval.SlaAlertDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.SlaStatus;
+import com.pipeline.repository.DEApprovalRequestRepository;
+import com.pipeline.repository.projection.SlaDeadlineView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * SLA deadline timers of all pending approval requests
+ * Each request has one timer, ordered by the time it next changes SLA status (entering the warning window,
+ * then passing its deadline), so a check only looks at timers that are due. Loaded once at startup and kept
+ * current by ApprovalChangedEvents (decisions, and requests the poller picks up), O(log n) per change.
+ * A due timer is confirmed against its row before it fires, which also drops requests decided elsewhere;
+ * breached requests have no next transition, so their timers come due again every recheck interval for that.
+ */
+@Service
+@Slf4j
+public class SlaMonitorServiceImpl implements SlaMonitorService {
+
+    private static final int CONFIRM_BATCH_SIZE = 1000;
+
+    private static final Comparator<Timer> BY_FIRE_AT = Comparator.comparing(Timer::fireAt).thenComparing(Timer::approvalId);
+
+    private final DEApprovalRequestRepository approvalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration warningWindow;
+    private final Duration breachedRecheckInterval;
+
+    // All guarded by this
+    private final TreeSet<Timer> timers = new TreeSet<>(BY_FIRE_AT);
+    private final Map<Long, Timer> byApprovalId = new HashMap<>();
+    private long nearBreachCount;
+    private long breachedCount;
+
+    // Changes that arrive before the startup load finishes, replayed onto it; null once loaded
+    private Map<Long, Timer> changedDuringLoad = new HashMap<>();
+
+    public SlaMonitorServiceImpl(DEApprovalRequestRepository approvalRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${pipeline.sla.warning-window-minutes:30}") long warningWindowMinutes,
+                                 @Value("${pipeline.sla.breached-recheck-minutes:5}") long breachedRecheckMinutes) {
+        this.approvalRepository = approvalRepository;
+        this.eventPublisher = eventPublisher;
+        this.warningWindow = Duration.ofMinutes(warningWindowMinutes);
+        this.breachedRecheckInterval = Duration.ofMinutes(breachedRecheckMinutes);
+    }
+
+    /**
+     * Load after the approval event poller has taken its starting id, so a request inserted in between
+     * is either loaded here or published by the poller
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Instant now = Instant.now();
+        List<Timer> loaded = approvalRepository.findByStatusAndSlaDeadlineIsNotNull(ApprovalStatus.PENDING).stream()
+                .map(view -> toTimer(view, now))
+                .toList();
+
+        synchronized (this) {
+            loaded.forEach(timer -> put(timer.approvalId(), timer));
+            changedDuringLoad.forEach(this::put);
+            changedDuringLoad = null;
+            log.info("Tracking SLA deadlines of {} pending approval requests ({} near breach, {} breached)",
+                    byApprovalId.size(), nearBreachCount, breachedCount);
+        }
+    }
+
+    @Override
+    public synchronized long getBreachedCount() {
+        return breachedCount;
+    }
+
+    @Override
+    public synchronized long getNearBreachCount() {
+        return nearBreachCount;
+    }
+
+    @Override
+    public SlaStatus statusAt(Instant slaDeadline, Instant now) {
+        if (now.isBefore(slaDeadline.minus(warningWindow))) {
+            return SlaStatus.ON_TRACK;
+        }
+        return now.isBefore(slaDeadline) ? SlaStatus.NEAR_BREACH : SlaStatus.BREACHED;
+    }
+
+    /**
+     * Track new pending requests and stop tracking decided ones, after commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApprovalChanged(ApprovalChangedEvent event) {
+        Instant now = Instant.now();
+        List<SlaAlertDto> alerts = new ArrayList<>();
+        synchronized (this) {
+            for (ApprovalRequestSummaryDto request : event.requests()) {
+                Timer timer = request.getStatus() == ApprovalStatus.PENDING && request.getSlaDeadline() != null ?
+                        toTimer(request.getId(), request.getPipelineId(), request.getRequestTitle(), request.getSlaDeadline(), now) :
+                        null;
+                Timer previous = apply(request.getId(), timer);
+                // A request that arrives already late alerts straight away
+                if (timer != null && timer.status() != SlaStatus.ON_TRACK && (previous == null || previous.status() != timer.status())) {
+                    alerts.add(toAlert(timer));
+                }
+            }
+        }
+        publish(alerts);
+    }
+
+    /**
+     * Fire the timers that are due, a batch at a time
+     */
+    @Scheduled(fixedDelayString = "${pipeline.sla.check-interval-ms:1000}")
+    public void fireDue() {
+        List<Timer> due;
+        do {
+            Instant now = Instant.now();
+            synchronized (this) {
+                due = new ArrayList<>();
+                for (Timer timer : timers) {
+                    if (timer.fireAt().isAfter(now) || due.size() == CONFIRM_BATCH_SIZE) {
+                        break;
+                    }
+                    due.add(timer);
+                }
+            }
+            if (due.isEmpty()) {
+                return;
+            }
+
+            // The deadline may have moved, or the request been decided, without an event reaching this instance
+            Map<Long, SlaDeadlineView> current = approvalRepository
+                    .findByIdInAndStatus(due.stream().map(Timer::approvalId).toList(), ApprovalStatus.PENDING).stream()
+                    .collect(Collectors.toMap(SlaDeadlineView::getId, Function.identity()));
+
+            List<SlaAlertDto> alerts = new ArrayList<>();
+            synchronized (this) {
+                for (Timer timer : due) {
+                    if (byApprovalId.get(timer.approvalId()) != timer) {
+                        continue; // changed while the rows were read
+                    }
+                    SlaDeadlineView view = current.get(timer.approvalId());
+                    Timer next = view != null && view.getSlaDeadline() != null ? toTimer(view, now) : null;
+                    apply(timer.approvalId(), next);
+                    if (next != null && next.status() != timer.status() && next.status() != SlaStatus.ON_TRACK) {
+                        alerts.add(toAlert(next));
+                    }
+                }
+            }
+            publish(alerts);
+        } while (due.size() == CONFIRM_BATCH_SIZE);
+    }
+
+    private Timer apply(Long approvalId, Timer timer) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.put(approvalId, timer);
+        }
+        return put(approvalId, timer);
+    }
+
+    /**
+     * Replace a request's timer; a null timer stops tracking it
+     */
+    private Timer put(Long approvalId, Timer timer) {
+        Timer previous = timer != null ? byApprovalId.put(approvalId, timer) : byApprovalId.remove(approvalId);
+        if (previous != null) {
+            count(previous.status(), -1);
+            timers.remove(previous);
+        }
+        if (timer != null) {
+            count(timer.status(), 1);
+            timers.add(timer);
+        }
+        return previous;
+    }
+
+    private void count(SlaStatus status, int delta) {
+        switch (status) {
+            case NEAR_BREACH -> nearBreachCount += delta;
+            case BREACHED -> breachedCount += delta;
+            case ON_TRACK -> {
+            }
+        }
+    }
+
+    private void publish(List<SlaAlertDto> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        alerts.forEach(alert -> log.info("Approval request {} of pipeline {} is {} (SLA deadline {})",
+                alert.getApprovalId(), alert.getPipelineId(), alert.getSlaStatus(), alert.getSlaDeadline()));
+        eventPublisher.publishEvent(new SlaAlertEvent(alerts));
+    }
+
+    private Timer toTimer(SlaDeadlineView view, Instant now) {
+        return toTimer(view.getId(), view.getPipelineId(), view.getRequestTitle(), view.getSlaDeadline(), now);
+    }
+
+    /**
+     * The request's SLA status at now, and when it next changes (or, once breached, is confirmed again)
+     */
+    private Timer toTimer(Long approvalId, String pipelineId, String requestTitle, Instant slaDeadline, Instant now) {
+        SlaStatus status = statusAt(slaDeadline, now);
+        Instant fireAt = switch (status) {
+            case ON_TRACK -> slaDeadline.minus(warningWindow);
+            case NEAR_BREACH -> slaDeadline;
+            case BREACHED -> now.plus(breachedRecheckInterval);
+        };
+        return new Timer(approvalId, pipelineId, requestTitle, slaDeadline, status, fireAt);
+    }
+
+    private static SlaAlertDto toAlert(Timer timer) {
+        return SlaAlertDto.builder()
+                .approvalId(timer.approvalId())
+                .pipelineId(timer.pipelineId())
+                .requestTitle(timer.requestTitle())
+                .slaDeadline(timer.slaDeadline())
+                .slaStatus(timer.status())
+                .build();
+    }
+
+    private record Timer(Long approvalId, String pipelineId, String requestTitle, Instant slaDeadline, SlaStatus status, Instant fireAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.pipeline.service;
+
+import java.util.List;
+
+/**
+ * A streamed config uploaded by ConfigStorageService.stage and not yet committed: its content-addressed key and
+ * what the config_objects row needs, the staging object it was uploaded to, and the outbox entries that delete the
+ * staged objects unless commit keeps them.
+ */
+public record StagedConfig(String s3Key, String contentHash, String contentType, long sizeBytes,
+                           String stagingKey, List<Long> cleanup) {
+}
@@ -0,0 +1,401 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.JacksonYAMLParseException;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.networknt.schema.ExecutionContext;
+import com.networknt.schema.JsonNodePath;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.PathType;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.StepType;
+import com.pipeline.exception.ConfigTooLargeException;
+import com.pipeline.exception.InvalidStepConfigException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates step configs against per-step-type JSON Schemas before they are stored.
+ * Schemas are looked up on the classpath as schemas/step-config/{step-type}-{config-type}.schema.json, then
+ * {step-type}.schema.json, then default.schema.json. All of them are compiled once at startup.
+ * <p>
+ * A config is validated as it is parsed, one value at a time, so it is never held whole: objects and arrays whose
+ * schema only constrains their keys, their items and their item count are walked token by token, and only the
+ * values below them are read into trees. A schema using any other keyword on an object or array is checked against
+ * that value read whole. Keywords at the level of a walked object (required, anyOf of required, ...) see its keys only.
+ * The parsers enforce document size and nesting limits, which fail the config as too large.
+ */
+@Component
+@Slf4j
+public class StepConfigValidator {
+
+    private static final String SCHEMA_DIR = "schemas/step-config/";
+    private static final String DEFAULT_SCHEMA = "default";
+    private static final int MAX_ERRORS = 10;
+    private static final String YAML_LIMIT_MESSAGE = "The incoming YAML document exceeds the limit";
+
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "$comment", "title", "description", "examples", "default");
+    private static final Set<String> KEY_KEYWORDS = Set.of("required", "minProperties", "maxProperties");
+    private static final Set<String> OBJECT_KEYWORDS = Set.of("type", "properties", "required", "minProperties", "maxProperties", "anyOf", "oneOf", "allOf");
+    private static final Set<String> ARRAY_KEYWORDS = Set.of("type", "items", "minItems", "maxItems");
+
+    private final Map<ConfigType, Map<StepType, Plan>> plans = new EnumMap<>(ConfigType.class);
+    private final Plan defaultPlan;
+    private final Map<ConfigType, ObjectMapper> mappers = new EnumMap<>(ConfigType.class);
+    private final long budgetNanos;
+    private final int chunkBytes;
+    private final int queueChunks;
+    private final ExecutorService parsers;
+
+    public StepConfigValidator(@Value("${pipeline.config-validation.budget-ms:50}") long budgetMs,
+                               @Value("${pipeline.config-validation.max-document-bytes:67108864}") long maxDocumentBytes,
+                               @Value("${pipeline.config-validation.max-nesting-depth:200}") int maxNestingDepth,
+                               @Value("${pipeline.config-validation.threads:4}") int threads,
+                               @Value("${pipeline.config-validation.buffer-bytes:1048576}") int bufferBytes) {
+        this.budgetNanos = budgetMs * 1_000_000;
+        this.chunkBytes = 64 * 1024;
+        this.queueChunks = Math.max(1, bufferBytes / chunkBytes);
+
+        // Strict parsing: duplicate keys would otherwise be dropped silently; content after the config is checked
+        // by the walk. YAML is also held to SnakeYAML's code point limit, which it checks as it reads.
+        StreamReadConstraints constraints = StreamReadConstraints.builder()
+                .maxDocumentLength(maxDocumentBytes)
+                .maxNestingDepth(maxNestingDepth)
+                .build();
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit((int) Math.min(Integer.MAX_VALUE, maxDocumentBytes));
+        mappers.put(ConfigType.JSON, new ObjectMapper(JsonFactory.builder()
+                .streamReadConstraints(constraints)
+                .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+                .build()));
+        mappers.put(ConfigType.YAML, new ObjectMapper(YAMLFactory.builder()
+                .loaderOptions(loaderOptions)
+                .streamReadConstraints(constraints)
+                .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+                .build()));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.parsers = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "config-validation-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V202012);
+        // Compiled per resource, so step types sharing a file share one compiled schema
+        Map<String, Plan> compiled = new HashMap<>();
+        this.defaultPlan = compile(factory, DEFAULT_SCHEMA, compiled);
+        for (ConfigType configType : ConfigType.values()) {
+            Map<StepType, Plan> byStepType = new EnumMap<>(StepType.class);
+            for (StepType stepType : StepType.values()) {
+                String name = resourceName(stepType);
+                Plan plan = compile(factory, name + "-" + configType.name().toLowerCase(Locale.ROOT), compiled);
+                if (plan == null) {
+                    plan = compile(factory, name, compiled);
+                }
+                byStepType.put(stepType, plan != null ? plan : defaultPlan);
+            }
+            plans.put(configType, byStepType);
+        }
+        log.info("Compiled {} step config schemas", compiled.values().stream().filter(Objects::nonNull).count());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parsers.shutdownNow();
+    }
+
+    /**
+     * Check a config against the schema for its step type
+     *
+     * @throws ConfigTooLargeException if the config is over the parse limits
+     * @throws InvalidStepConfigException if the config does not parse or does not match the schema
+     */
+    public void validate(int stepOrder, StepType stepType, ConfigType configType, String content) {
+        long start = System.nanoTime();
+        ConfigType type = ConfigType.orDefault(configType);
+        // Through a Reader: Jackson checks the document length as it loads input, not over a String already in memory
+        try (JsonParser parser = mappers.get(type).createParser(new StringReader(content))) {
+            validate(stepOrder, stepType, type, parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the config of step " + stepOrder, e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > budgetNanos) {
+            log.warn("Validating the {} config of step {} ({} chars) took {} ms", type, stepOrder, content.length(), elapsed / 1_000_000);
+        }
+    }
+
+    /**
+     * Wrap a config body so it is validated while it is read: the bytes pass through unchanged, and a parser checks
+     * a copy of them on a validation thread. The read that reaches the end of the body waits for the parser and fails
+     * if the config is invalid; see ValidatingInputStream.
+     */
+    public ValidatingInputStream validating(int stepOrder, StepType stepType, ConfigType configType, InputStream content) {
+        return validating(stepOrder, stepType, configType, content, null);
+    }
+
+    /**
+     * As validating, also feeding the tokenizer every token of the parse, so the config is tokenized for search in
+     * the same pass; its tokens are complete once the end of the body has been read without failing
+     */
+    public ValidatingInputStream validating(int stepOrder, StepType stepType, ConfigType configType, InputStream content,
+                                            ConfigTokenizer tokenizer) {
+        ConfigType type = ConfigType.orDefault(configType);
+        return new ValidatingInputStream(content, chunkBytes, queueChunks, budgetNanos, parsers, in -> {
+            JsonParser parser = mappers.get(type).createParser(in);
+            try (JsonParser observed = tokenizer != null ? tokenizer.observe(parser) : parser) {
+                validate(stepOrder, stepType, type, observed);
+            }
+        }, "the " + type + " config of step " + stepOrder);
+    }
+
+    private void validate(int stepOrder, StepType stepType, ConfigType type, JsonParser parser) throws IOException {
+        Plan plan = stepType != null ? plans.get(type).get(stepType) : defaultPlan;
+        List<String> errors = new ArrayList<>();
+        try {
+            if (parser.nextToken() == null) {
+                throw new InvalidStepConfigException(stepOrder, type.name(), List.of("the config is empty"));
+            }
+            new Walk(parser, mappers.get(type), plan.schema.createExecutionContext(), errors).value(plan.root, new JsonNodePath(PathType.LEGACY));
+            if (errors.size() < MAX_ERRORS && parser.nextToken() != null) {
+                errors.add("unexpected content after the config at line " + parser.currentLocation().getLineNr());
+            }
+        } catch (StreamConstraintsException e) {
+            throw new ConfigTooLargeException(stepOrder, type.name(), e.getOriginalMessage());
+        } catch (JacksonYAMLParseException e) {
+            if (e.getOriginalMessage() != null && e.getOriginalMessage().startsWith(YAML_LIMIT_MESSAGE)) {
+                throw new ConfigTooLargeException(stepOrder, type.name(), e.getOriginalMessage());
+            }
+            throw new InvalidStepConfigException(stepOrder, type.name(), List.of(e.getOriginalMessage()));
+        } catch (JsonProcessingException e) {
+            throw new InvalidStepConfigException(stepOrder, type.name(), List.of(e.getOriginalMessage()));
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidStepConfigException(stepOrder, type.name(), errors);
+        }
+    }
+
+    /**
+     * One walk over a parsed config, collecting up to MAX_ERRORS messages; it stops reading once it has that many
+     */
+    private static final class Walk {
+
+        private final JsonParser parser;
+        private final ObjectMapper mapper;
+        private final ExecutionContext context;
+        private final List<String> errors;
+
+        Walk(JsonParser parser, ObjectMapper mapper, ExecutionContext context, List<String> errors) {
+            this.parser = parser;
+            this.mapper = mapper;
+            this.context = context;
+            this.errors = errors;
+        }
+
+        /**
+         * Check the value at the parser's current token, leaving the parser on its last token
+         */
+        void value(Node node, JsonNodePath path) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (node.kind == Kind.ANY) {
+                parser.skipChildren();
+            } else if (node.kind == Kind.OBJECT && token == JsonToken.START_OBJECT) {
+                object(node, path);
+            } else if (node.kind == Kind.ARRAY && token == JsonToken.START_ARRAY) {
+                array(node, path);
+            } else {
+                JsonNode value = mapper.readTree(parser);
+                report(node.schema.validate(context, value, value, path));
+            }
+        }
+
+        private void object(Node node, JsonNodePath path) throws IOException {
+            // Keys only: the values are checked one at a time as they are read
+            ObjectNode keys = JsonNodeFactory.instance.objectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                keys.putNull(name);
+                value(node.properties.getOrDefault(name, Node.ANY), path.append(name));
+                if (errors.size() >= MAX_ERRORS) {
+                    return;
+                }
+            }
+            report(node.keys.validate(context, keys, keys, path));
+        }
+
+        private void array(Node node, JsonNodePath path) throws IOException {
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                value(node.items, path.append(count++));
+                if (errors.size() >= MAX_ERRORS) {
+                    return;
+                }
+            }
+            if (node.minItems != null && count < node.minItems) {
+                errors.add(path + ": must have at least " + node.minItems + " items but found " + count);
+            }
+            if (node.maxItems != null && count > node.maxItems) {
+                errors.add(path + ": must have at most " + node.maxItems + " items but found " + count);
+            }
+        }
+
+        private void report(Set<ValidationMessage> messages) {
+            Iterator<ValidationMessage> it = messages.iterator();
+            while (it.hasNext() && errors.size() < MAX_ERRORS) {
+                errors.add(it.next().getMessage());
+            }
+        }
+    }
+
+    private enum Kind {
+        ANY, OBJECT, ARRAY, TREE
+    }
+
+    /**
+     * How to check one value: skip it (no constraints), walk it, or read it whole and validate the tree
+     */
+    private static final class Node {
+
+        static final Node ANY = new Node(Kind.ANY, null);
+
+        final Kind kind;
+        final JsonSchema schema;
+        JsonSchema keys;
+        Map<String, Node> properties = Map.of();
+        Node items = ANY;
+        Integer minItems;
+        Integer maxItems;
+
+        Node(Kind kind, JsonSchema schema) {
+            this.kind = kind;
+            this.schema = schema;
+        }
+    }
+
+    /**
+     * A compiled schema and how its values are checked; the schema also provides the execution context
+     */
+    private record Plan(JsonSchema schema, Node root) {
+    }
+
+    private static Plan compile(JsonSchemaFactory factory, String name, Map<String, Plan> compiled) {
+        if (compiled.containsKey(name)) {
+            return compiled.get(name);
+        }
+        ClassPathResource resource = new ClassPathResource(SCHEMA_DIR + name + ".schema.json");
+        Plan plan = null;
+        if (resource.exists()) {
+            try (InputStream in = resource.getInputStream()) {
+                JsonSchema schema = factory.getSchema(in);
+                // Build the validator tree now rather than on the first request
+                schema.initializeValidators();
+                plan = new Plan(schema, node(factory, schema, new JsonNodePath(PathType.JSON_POINTER)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read step config schema " + resource.getPath(), e);
+            }
+        }
+        compiled.put(name, plan);
+        return plan;
+    }
+
+    private static Node node(JsonSchemaFactory factory, JsonSchema root, JsonNodePath schemaPath) {
+        JsonSchema schema = schemaPath.getNameCount() == 0 ? root : root.getSubSchema(schemaPath);
+        JsonNode definition = schema.getSchemaNode();
+        if (!definition.isObject()) {
+            return definition.asBoolean(true) ? Node.ANY : new Node(Kind.TREE, schema);
+        }
+
+        List<String> keywords = new ArrayList<>();
+        definition.fieldNames().forEachRemaining(keywords::add);
+        keywords.removeAll(ANNOTATIONS);
+        if (keywords.isEmpty()) {
+            return Node.ANY;
+        }
+
+        String type = definition.path("type").asText(null);
+        if ("object".equals(type) && OBJECT_KEYWORDS.containsAll(keywords) && keysOnly(definition)) {
+            Node node = new Node(Kind.OBJECT, schema);
+            ObjectNode keysDefinition = definition.deepCopy();
+            keysDefinition.remove("properties");
+            node.keys = factory.getSchema(keysDefinition);
+            node.keys.initializeValidators();
+            Map<String, Node> properties = new HashMap<>();
+            definition.path("properties").fieldNames().forEachRemaining(property ->
+                    properties.put(property, node(factory, root, schemaPath.append("properties").append(property))));
+            node.properties = properties;
+            return node;
+        }
+        if ("array".equals(type) && ARRAY_KEYWORDS.containsAll(keywords)) {
+            Node node = new Node(Kind.ARRAY, schema);
+            if (definition.has("items")) {
+                node.items = node(factory, root, schemaPath.append("items"));
+            }
+            node.minItems = definition.has("minItems") ? definition.get("minItems").asInt() : null;
+            node.maxItems = definition.has("maxItems") ? definition.get("maxItems").asInt() : null;
+            return node;
+        }
+        return new Node(Kind.TREE, schema);
+    }
+
+    /**
+     * Whether the anyOf/oneOf/allOf branches of an object schema only look at its keys
+     */
+    private static boolean keysOnly(JsonNode definition) {
+        for (String combinator : List.of("anyOf", "oneOf", "allOf")) {
+            for (JsonNode branch : definition.path(combinator)) {
+                Iterator<String> names = branch.fieldNames();
+                while (names.hasNext()) {
+                    String name = names.next();
+                    if (!KEY_KEYWORDS.contains(name) && !ANNOTATIONS.contains(name)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * DATA_INGESTION -> data-ingestion
+     */
+    private static String resourceName(StepType stepType) {
+        return stepType.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
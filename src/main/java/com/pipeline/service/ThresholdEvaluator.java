@@ -0,0 +1,271 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.ThresholdMetric;
+import com.pipeline.enums.ThresholdSeverity;
+import com.pipeline.model.ApprovalThresholdResult;
+import com.pipeline.model.WorkflowThresholdConfig;
+import com.pipeline.repository.ApprovalThresholdResultRepository;
+import com.pipeline.repository.DEApprovalRequestRepository;
+import com.pipeline.repository.WorkflowThresholdConfigRepository;
+import com.pipeline.repository.projection.ThresholdInputView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates approval requests against their pipeline's workflow thresholds once, when they are ingested
+ * configurationDetails is parsed into a metric vector and each metric present in both it and the thresholds is stored
+ * as an ApprovalThresholdResult; the worst severity, the largest overage and the breach count go on the request row,
+ * where the pending inbox filters and ranks by them. New requests arrive as ApprovalChangedEvents (the approval event
+ * poller publishes those the DE team inserts); pending requests not yet evaluated are backfilled at startup.
+ * Results keep the threshold they were compared against, so a later threshold change does not rewrite them.
+ */
+@Component
+@Slf4j
+public class ThresholdEvaluator {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final double LOW_MAX_OVERAGE_PERCENT = 25;
+    private static final double MEDIUM_MAX_OVERAGE_PERCENT = 100;
+
+    private static final ThresholdMetric[] METRICS = ThresholdMetric.values();
+
+    // Evaluations of a batch of rows in one statement (so the status counter trigger runs once per batch);
+    // the IS NULL guard makes a request that two runs pick up at once be evaluated by only one of them.
+    // version is left alone: these are derived, read-only fields, and a bump would fail a concurrent decision's optimistic lock
+    private static final String UPDATE_ROW = "(?::bigint, ?::varchar, ?::smallint, ?::float8, ?::integer)";
+    private static final String UPDATE_SQL = "UPDATE de_approval_requests d SET threshold_severity = v.severity, threshold_severity_rank = v.severity_rank, " +
+            "threshold_overage_percent = v.overage, threshold_breach_count = v.breaches, thresholds_evaluated_at = ? " +
+            "FROM (VALUES %s) AS v (id, severity, severity_rank, overage, breaches) WHERE d.id = v.id AND d.thresholds_evaluated_at IS NULL RETURNING d.id";
+
+    private final DEApprovalRequestRepository approvalRepository;
+    private final WorkflowThresholdConfigRepository workflowThresholdConfigRepository;
+    private final ApprovalThresholdResultRepository thresholdResultRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Its own transaction: the change events are handled after the publishing transaction has committed
+    private final TransactionTemplate transactionTemplate;
+
+    public ThresholdEvaluator(DEApprovalRequestRepository approvalRepository,
+                              WorkflowThresholdConfigRepository workflowThresholdConfigRepository,
+                              ApprovalThresholdResultRepository thresholdResultRepository,
+                              JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.approvalRepository = approvalRepository;
+        this.workflowThresholdConfigRepository = workflowThresholdConfigRepository;
+        this.thresholdResultRepository = thresholdResultRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Evaluate pending requests ingested while the service was down, or before evaluation existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        int evaluated = 0;
+        List<ThresholdInputView> batch;
+        do {
+            batch = approvalRepository.findByIdGreaterThanAndStatusAndThresholdsEvaluatedAtIsNullOrderByIdAsc(afterId, ApprovalStatus.PENDING, Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            evaluated += evaluate(batch);
+        } while (batch.size() == BATCH_SIZE);
+
+        if (evaluated > 0) {
+            log.info("Evaluated thresholds of {} pending approval requests", evaluated);
+        }
+    }
+
+    /**
+     * Evaluate new pending requests after commit; decided and already evaluated requests are skipped
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApprovalChanged(ApprovalChangedEvent event) {
+        List<Long> ids = event.requests().stream()
+                .filter(request -> request.getStatus() == ApprovalStatus.PENDING)
+                .map(ApprovalRequestSummaryDto::getId)
+                .toList();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            try {
+                evaluate(approvalRepository.findByIdInAndStatusAndThresholdsEvaluatedAtIsNull(batch, ApprovalStatus.PENDING));
+            } catch (RuntimeException e) {
+                // Left unevaluated; the next startup backfill picks them up
+                log.error("Threshold evaluation of approval requests {} failed", batch, e);
+            }
+        }
+    }
+
+    /**
+     * Evaluate and store a batch of requests; returns how many this call evaluated
+     */
+    private int evaluate(List<ThresholdInputView> requests) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        Integer evaluated = transactionTemplate.execute(status -> {
+            Set<String> pipelineIds = requests.stream().map(ThresholdInputView::getPipelineId).collect(Collectors.toSet());
+            // The newest row wins if a pipeline has several, as findByPipelineId would leave it to chance
+            Map<String, WorkflowThresholdConfig> thresholds = workflowThresholdConfigRepository.findByPipelineIdIn(pipelineIds).stream()
+                    .collect(Collectors.toMap(WorkflowThresholdConfig::getPipelineId, Function.identity(),
+                            (a, b) -> a.getId() > b.getId() ? a : b));
+
+            List<Object> args = new ArrayList<>();
+            args.add(Timestamp.from(Instant.now()));
+            List<ApprovalThresholdResult> results = new ArrayList<>();
+            for (ThresholdInputView request : requests) {
+                List<ApprovalThresholdResult> metrics = compare(request.getId(), parse(request), thresholds.get(request.getPipelineId()));
+                ThresholdSeverity worst = null;
+                Double overage = null;
+                int breaches = 0;
+                for (ApprovalThresholdResult result : metrics) {
+                    if (worst == null || result.getSeverity().getRank() > worst.getRank()) {
+                        worst = result.getSeverity();
+                    }
+                    if (result.getSeverity() != ThresholdSeverity.WITHIN) {
+                        breaches++;
+                    }
+                    if (result.getOveragePercent() != null && (overage == null || result.getOveragePercent() > overage)) {
+                        overage = result.getOveragePercent();
+                    }
+                }
+                Collections.addAll(args, request.getId(), worst != null ? worst.name() : null, worst != null ? worst.getRank() : null, overage, breaches);
+                results.addAll(metrics);
+            }
+
+            String values = String.join(", ", Collections.nCopies(requests.size(), UPDATE_ROW));
+            Set<Long> updated = new HashSet<>(jdbcTemplate.queryForList(String.format(UPDATE_SQL, values), Long.class, args.toArray()));
+            thresholdResultRepository.saveAll(results.stream().filter(result -> updated.contains(result.getApprovalRequestId())).toList());
+            return updated.size();
+        });
+        return evaluated != null ? evaluated : 0;
+    }
+
+    /**
+     * The request's metric vector, indexed by ThresholdMetric ordinal; NaN where configurationDetails has no usable value
+     */
+    private double[] parse(ThresholdInputView request) {
+        double[] metrics = new double[METRICS.length];
+        Arrays.fill(metrics, Double.NaN);
+        if (request.getConfigurationDetails() == null || request.getConfigurationDetails().isBlank()) {
+            return metrics;
+        }
+
+        JsonNode details;
+        try {
+            details = objectMapper.readTree(request.getConfigurationDetails());
+        } catch (JsonProcessingException e) {
+            log.warn("Approval request {} has configurationDetails that are not valid JSON; no thresholds evaluated", request.getId());
+            return metrics;
+        }
+        if (details == null || !details.isObject()) {
+            return metrics;
+        }
+        for (ThresholdMetric metric : METRICS) {
+            metrics[metric.ordinal()] = toDouble(details.get(metric.getFieldName()));
+        }
+        return metrics;
+    }
+
+    private static double toDouble(JsonNode value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        if (value.isNumber()) {
+            return value.doubleValue();
+        }
+        if (value.isBoolean()) {
+            return value.booleanValue() ? 1 : 0;
+        }
+        if (value.isTextual()) {
+            try {
+                return Double.parseDouble(value.textValue().trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static List<ApprovalThresholdResult> compare(Long approvalRequestId, double[] observed, WorkflowThresholdConfig config) {
+        if (config == null) {
+            return List.of();
+        }
+        List<ApprovalThresholdResult> results = new ArrayList<>();
+        for (ThresholdMetric metric : METRICS) {
+            Number threshold = threshold(metric, config);
+            double value = observed[metric.ordinal()];
+            if (threshold == null || Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+            double limit = threshold.doubleValue();
+            double magnitude = metric.isSigned() ? Math.abs(value) : value;
+
+            Double overage = null;
+            ThresholdSeverity severity;
+            if (magnitude <= limit) {
+                severity = ThresholdSeverity.WITHIN;
+            } else if (limit <= 0) {
+                severity = ThresholdSeverity.HIGH;
+            } else {
+                overage = (magnitude - limit) / limit * 100;
+                severity = overage <= LOW_MAX_OVERAGE_PERCENT ? ThresholdSeverity.LOW :
+                        overage <= MEDIUM_MAX_OVERAGE_PERCENT ? ThresholdSeverity.MEDIUM : ThresholdSeverity.HIGH;
+            }
+            results.add(ApprovalThresholdResult.builder()
+                    .approvalRequestId(approvalRequestId)
+                    .metric(metric)
+                    .observedValue(value)
+                    .thresholdValue(limit)
+                    .overagePercent(overage)
+                    .severity(severity)
+                    .build());
+        }
+        return results;
+    }
+
+    private static Number threshold(ThresholdMetric metric, WorkflowThresholdConfig config) {
+        return switch (metric) {
+            case RECORD_COUNT_VARIANCE -> config.getRecordCountVariancePercent();
+            case VOLUME_ANOMALY_VS_BASELINE -> config.getVolumeAnomalyVsBaselinePercent();
+            case MANDATORY_COLUMN_NULLS -> config.getMandatoryColumnNullsPercent();
+            case DUPLICATE_BUSINESS_KEYS -> config.getDuplicateBusinessKeysPercent();
+            case FORMAT_VIOLATIONS -> config.getFormatViolationsPercent();
+            case BREAKING_SCHEMA_CHANGES -> config.getBreakingSchemaChangesAllowed();
+            case DATA_FRESHNESS_DELAY -> config.getDataFreshnessDelayMinutes();
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.pipeline.model.WorkflowThresholdConfig;
+import com.pipeline.repository.WorkflowThresholdConfigRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Each pipeline's workflow thresholds as the JSON shown next to configurationDetails in approval detail views
+ * Serialized once per pipeline with the application's ObjectMapper and cached, pipelines without thresholds included,
+ * so a detail view reads no threshold row. The table is written by the DE platform, so entries expire after
+ * a short TTL; a service of this application that saves thresholds evicts the pipeline's entry with evict().
+ */
+@Component
+@Slf4j
+public class ThresholdSnapshotCache {
+
+    static final String EMPTY_SNAPSHOT = "{}";
+
+    private final WorkflowThresholdConfigRepository workflowThresholdConfigRepository;
+    private final ObjectMapper objectMapper;
+    private final LoadingCache<String, String> snapshots;
+
+    public ThresholdSnapshotCache(WorkflowThresholdConfigRepository workflowThresholdConfigRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${pipeline.threshold-cache.ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${pipeline.threshold-cache.max-entries:10000}") long maxEntries) {
+        this.workflowThresholdConfigRepository = workflowThresholdConfigRepository;
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .build(this::load);
+    }
+
+    /**
+     * The pipeline's thresholds as JSON, with field names matching configurationDetails; "{}" if it has none
+     */
+    public String get(String pipelineId) {
+        return snapshots.get(pipelineId);
+    }
+
+    /**
+     * Drop the pipeline's snapshot once the current transaction commits
+     */
+    public void evict(String pipelineId) {
+        afterCommit(() -> snapshots.invalidate(pipelineId));
+    }
+
+    private String load(String pipelineId) {
+        log.debug("Fetching actual threshold values for pipeline: {}", pipelineId);
+
+        return workflowThresholdConfigRepository.findByPipelineId(pipelineId)
+                .map(this::serialize)
+                .orElse(EMPTY_SNAPSHOT);
+    }
+
+    private String serialize(WorkflowThresholdConfig config) {
+        Map<String, Object> thresholds = new LinkedHashMap<>();
+
+        // Use field names matching configurationDetails (without "Threshold" suffix)
+        putIfSet(thresholds, "recordCountVariancePercent", config.getRecordCountVariancePercent());
+        putIfSet(thresholds, "volumeAnomalyVsBaselinePercent", config.getVolumeAnomalyVsBaselinePercent());
+        putIfSet(thresholds, "mandatoryColumnNullsPercent", config.getMandatoryColumnNullsPercent());
+        putIfSet(thresholds, "duplicateBusinessKeysPercent", config.getDuplicateBusinessKeysPercent());
+        putIfSet(thresholds, "formatViolationsPercent", config.getFormatViolationsPercent());
+        putIfSet(thresholds, "breakingSchemaChangesAllowed", config.getBreakingSchemaChangesAllowed());
+        putIfSet(thresholds, "dataFreshnessDelayMinutes", config.getDataFreshnessDelayMinutes());
+
+        try {
+            return objectMapper.writeValueAsString(thresholds);
+        } catch (JsonProcessingException e) {
+            log.error("Error converting thresholds to JSON", e);
+            return EMPTY_SNAPSHOT;
+        }
+    }
+
+    private static void putIfSet(Map<String, Object> thresholds, String name, Object value) {
+        if (value != null) {
+            thresholds.put(name, value);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
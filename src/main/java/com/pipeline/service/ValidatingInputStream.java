@@ -0,0 +1,204 @@
+package com.pipeline.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A config body that is validated while it is read (see StepConfigValidator.validating).
+ * Bytes pass through unchanged; a copy of each read is handed, in bounded chunks, to a parser on a validation
+ * thread, so at most a few chunks are held at a time. Reads fail as soon as validation has failed, and the read
+ * that reaches the end of the body waits for the parser and fails if the config is invalid, so a consumer that only
+ * completes its write at end of stream (an S3 upload of unknown length) never completes an invalid config.
+ * The failure behind such an IOException is available from failure(). Closing the stream stops the parser.
+ */
+@Slf4j
+public class ValidatingInputStream extends FilterInputStream {
+
+    private static final byte[] END = new byte[0];
+    private static final long OFFER_WAIT_MS = 50;
+
+    /**
+     * Parses and validates what it reads; throws a RuntimeException describing an invalid config
+     */
+    interface Validation {
+        void run(InputStream in) throws IOException;
+    }
+
+    private final BlockingQueue<byte[]> chunks;
+    private final int chunkBytes;
+    private final long budgetNanos;
+    private final String description;
+    private final Future<?> parser;
+    private volatile RuntimeException failure;
+    private boolean ended;
+
+    ValidatingInputStream(InputStream in, int chunkBytes, int queueChunks, long budgetNanos, ExecutorService parsers,
+                          Validation validation, String description) {
+        super(in);
+        this.chunks = new ArrayBlockingQueue<>(queueChunks);
+        this.chunkBytes = chunkBytes;
+        this.budgetNanos = budgetNanos;
+        this.description = description;
+        this.parser = parsers.submit(() -> {
+            try (InputStream copy = new ChunkInputStream()) {
+                validation.run(copy);
+            } catch (RuntimeException e) {
+                failure = e;
+            } catch (InterruptedIOException e) {
+                // Closed before the end of the body
+            } catch (IOException e) {
+                failure = new IllegalStateException("Failed to validate " + description, e);
+            }
+        });
+    }
+
+    /**
+     * Why validation failed, or null if it has not (yet)
+     */
+    public RuntimeException failure() {
+        return failure;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkFailure();
+        if (ended) {
+            return -1;
+        }
+        int n = in.read(b, off, len);
+        if (n < 0) {
+            end();
+            return -1;
+        }
+        for (int from = off; from < off + n; from += chunkBytes) {
+            feed(Arrays.copyOfRange(b, from, Math.min(off + n, from + chunkBytes)));
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes must still reach the parser
+        byte[] buffer = new byte[(int) Math.min(n, chunkBytes)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.cancel(true);
+        super.close();
+    }
+
+    private void end() throws IOException {
+        ended = true;
+        feed(END);
+        long start = System.nanoTime();
+        try {
+            parser.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while validating " + description);
+        } catch (ExecutionException | CancellationException e) {
+            throw new IOException("Failed to validate " + description, e);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > budgetNanos) {
+            log.warn("Validating {} took {} ms after its last byte arrived", description, elapsed / 1_000_000);
+        }
+        checkFailure();
+    }
+
+    private void feed(byte[] chunk) throws IOException {
+        try {
+            while (!chunks.offer(chunk, OFFER_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                // The parser stops reading once it has failed; don't wait for it to take more
+                if (parser.isDone()) {
+                    checkFailure();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while validating " + description);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        RuntimeException e = failure;
+        if (e != null) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The parser's side: the chunks in the order they were read, ending at END
+     */
+    private class ChunkInputStream extends InputStream {
+
+        private byte[] current = new byte[0];
+        private int position;
+
+        @Override
+        public int read() throws IOException {
+            return next() ? current[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!next()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean next() throws IOException {
+            while (current != END && position == current.length) {
+                try {
+                    current = chunks.take();
+                    position = 0;
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+            return current != END;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.pipeline.repository;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.enums.StepType;
+import com.pipeline.model.Pipeline;
+import com.pipeline.model.PipelineStep;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A page of the pipeline list is read with a fixed number of statements, however many pipelines and steps it holds
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PipelineSummaryQueryTest {
+
+    private static final StepType[] STEP_TYPES = StepType.values();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findSummariesByIdInIsOneStatement() {
+        List<Long> few = createPipelines(10, 5);
+        assertThat(countStatements(() -> assertThat(pipelineRepository.findSummariesByIdIn(few)).hasSize(10))).isEqualTo(1);
+
+        List<Long> many = createPipelines(100, 5);
+        assertThat(countStatements(() -> assertThat(pipelineRepository.findSummariesByIdIn(many)).hasSize(100)
+                .allSatisfy(summary -> assertThat(summary.getStepCount()).isEqualTo(5)))).isEqualTo(1);
+    }
+
+    @Test
+    void findDistinctStepTypesByPipelineIdInIsOneStatement() {
+        List<Long> few = createPipelines(10, 5);
+        assertThat(countStatements(() -> assertThat(pipelineStepRepository.findDistinctStepTypesByPipelineIdIn(few)).hasSize(50))).isEqualTo(1);
+
+        List<Long> many = createPipelines(100, 5);
+        assertThat(countStatements(() -> assertThat(pipelineStepRepository.findDistinctStepTypesByPipelineIdIn(many)).hasSize(500))).isEqualTo(1);
+    }
+
+    private long countStatements(Runnable query) {
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Pipelines with distinct step types, flushed and detached so the queries can't be answered from the session
+     */
+    private List<Long> createPipelines(int count, int stepsEach) {
+        List<Pipeline> pipelines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Pipeline pipeline = new Pipeline();
+            pipeline.setName("pipeline-" + i);
+            pipeline.setEnabled(true);
+            for (int order = 1; order <= stepsEach; order++) {
+                PipelineStep step = new PipelineStep();
+                step.setStepName("step-" + order);
+                step.setStepType(STEP_TYPES[order % STEP_TYPES.length]);
+                step.setStepOrder(order);
+                step.setPipeline(pipeline);
+                pipeline.getSteps().add(step);
+            }
+            pipelines.add(pipeline);
+        }
+        List<Long> ids = pipelineRepository.saveAll(pipelines).stream().map(Pipeline::getId).toList();
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+}
@@ -0,0 +1,185 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.approval.ApprovalActionDto;
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import com.pipeline.dto.approval.BulkApprovalActionDto;
+import com.pipeline.dto.approval.BulkApprovalResultDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.exception.InvalidApprovalStatusException;
+import com.pipeline.model.DEApprovalRequest;
+import com.pipeline.repository.DEApprovalRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reviewers deciding the same requests at the same moment: every request is decided exactly once, by whichever
+ * conditional UPDATE reaches it first, and every other reviewer is told it is no longer pending.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class ApprovalDecisionTest {
+
+    private static final int REVIEWERS = 8;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private ApprovalService approvalService;
+
+    @Autowired
+    private DEApprovalRequestRepository approvalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentDecisionsOnOneRequestHaveOneWinner() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Long id = createPending();
+
+            List<Callable<ApprovalRequestSummaryDto>> decisions = IntStream.range(0, REVIEWERS)
+                    .mapToObj(reviewer -> (Callable<ApprovalRequestSummaryDto>) () -> reviewer % 2 == 0
+                            ? approvalService.approveRequest(id, action("reviewer-" + reviewer))
+                            : approvalService.rejectRequest(id, action("reviewer-" + reviewer)))
+                    .toList();
+
+            List<ApprovalRequestSummaryDto> winners = new ArrayList<>();
+            for (Future<ApprovalRequestSummaryDto> result : runTogether(decisions)) {
+                try {
+                    winners.add(result.get());
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(InvalidApprovalStatusException.class).hasMessageContaining("Current status:");
+                }
+            }
+
+            assertThat(winners).hasSize(1);
+            Map<String, Object> row = jdbcTemplate.queryForMap("SELECT status, version FROM de_approval_requests WHERE id = ?", id);
+            assertThat(row.get("status")).isEqualTo(winners.get(0).getStatus().name());
+            assertThat(((Number) row.get("version")).longValue()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void overlappingBulkDecisionsSplitTheRequestsBetweenThem() throws Exception {
+        List<Long> ids = IntStream.range(0, 200).mapToObj(i -> createPending()).toList();
+        Long missing = ids.get(ids.size() - 1) + 1_000_000;
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(missing);
+        // The other reviewer lists them the other way round, so the two statements meet in the middle
+        List<Long> reversed = new ArrayList<>(requested);
+        Collections.reverse(reversed);
+
+        List<Future<BulkApprovalResultDto>> results = runTogether(List.of(
+                () -> approvalService.bulkDecide(bulk(requested, "approver"), ApprovalStatus.APPROVED),
+                () -> approvalService.bulkDecide(bulk(reversed, "rejecter"), ApprovalStatus.REJECTED)));
+        BulkApprovalResultDto approved = results.get(0).get();
+        BulkApprovalResultDto rejected = results.get(1).get();
+
+        // Either may reach every request first, so one side can come back empty
+        Set<Long> decided = new HashSet<>(approved.getUpdatedIds());
+        assertThat(rejected.getUpdatedIds()).noneMatch(decided::contains);
+        decided.addAll(rejected.getUpdatedIds());
+        assertThat(decided).containsExactlyInAnyOrderElementsOf(ids);
+
+        // What one reports as decided the other reports as not pending; the missing id is missing for both
+        assertThat(approved.getNotPendingIds()).containsExactlyInAnyOrderElementsOf(rejected.getUpdatedIds());
+        assertThat(rejected.getNotPendingIds()).containsExactlyInAnyOrderElementsOf(approved.getUpdatedIds());
+        assertThat(approved.getNotFoundIds()).containsExactly(missing);
+        assertThat(rejected.getNotFoundIds()).containsExactly(missing);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, status, version FROM de_approval_requests WHERE id IN (" +
+                String.join(",", ids.stream().map(String::valueOf).toList()) + ")");
+        for (Map<String, Object> row : rows) {
+            String expected = approved.getUpdatedIds().contains(((Number) row.get("id")).longValue()) ? "APPROVED" : "REJECTED";
+            assertThat(row.get("status")).isEqualTo(expected);
+            assertThat(((Number) row.get("version")).longValue()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void entityLoadedBeforeADecisionCannotBeSavedOverIt() {
+        Long id = createPending();
+        DEApprovalRequest stale = approvalRepository.findById(id).orElseThrow();
+
+        approvalService.approveRequest(id, action("first"));
+
+        stale.setStatus(ApprovalStatus.REJECTED);
+        assertThatThrownBy(() -> approvalRepository.save(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(approvalRepository.findById(id).orElseThrow().getStatus()).isEqualTo(ApprovalStatus.APPROVED);
+    }
+
+    /**
+     * Start the tasks on their own threads at the same moment; returns their results in task order
+     */
+    private static <T> List<Future<T>> runTogether(List<Callable<T>> tasks) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> results = tasks.stream().map(task -> pool.submit(() -> {
+                start.await();
+                return task.call();
+            })).toList();
+            start.countDown();
+            for (Future<T> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    // inspected by the caller
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Long createPending() {
+        return jdbcTemplate.queryForObject("INSERT INTO de_approval_requests (pipeline_id, stage, status, created_at, version) " +
+                "VALUES ('pipeline-1', 'INGESTION', 'PENDING', now(), 0) RETURNING id", Long.class);
+    }
+
+    private static ApprovalActionDto action(String reviewer) {
+        ApprovalActionDto action = new ApprovalActionDto();
+        action.setReviewedBy(reviewer);
+        action.setReason("reviewed");
+        return action;
+    }
+
+    private static BulkApprovalActionDto bulk(List<Long> ids, String reviewer) {
+        return BulkApprovalActionDto.builder().ids(ids).action(action(reviewer)).build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.approval.ApprovalRequestDetailDto;
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.ThresholdSeverity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Threshold evaluation stores the severity by name with its rank, leaves the request's version alone, and a
+ * detail view reads the request and its threshold results in one statement once the threshold snapshot is cached.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class ApprovalDetailQueryTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private ApprovalService approvalService;
+
+    @Autowired
+    private ThresholdEvaluator thresholdEvaluator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void evaluatedRequestIsRankedAndReadInOneStatement() {
+        jdbcTemplate.update("INSERT INTO workflow_threshold_config (pipeline_id, record_count_variance_percent, mandatory_column_nulls_percent) " +
+                "VALUES ('pipeline-1', 10, 1)");
+        Long id = jdbcTemplate.queryForObject("INSERT INTO de_approval_requests (pipeline_id, stage, status, configuration_details, created_at, version) " +
+                "VALUES ('pipeline-1', 'INGESTION', 'PENDING', '{\"recordCountVariancePercent\": 15, \"mandatoryColumnNullsPercent\": 0.5}', now(), 0) RETURNING id", Long.class);
+        thresholdEvaluator.onApprovalChanged(new ApprovalChangedEvent(List.of(
+                ApprovalRequestSummaryDto.builder().id(id).status(ApprovalStatus.PENDING).build())));
+
+        // 15 is 50% over 10: MEDIUM, stored by name next to its rank; version is untouched
+        assertThat(jdbcTemplate.queryForMap("SELECT threshold_severity, threshold_severity_rank, version FROM de_approval_requests WHERE id = ?", id))
+                .containsEntry("threshold_severity", "MEDIUM")
+                .containsEntry("threshold_severity_rank", ThresholdSeverity.MEDIUM.getRank())
+                .containsEntry("version", 0L);
+        assertThat(approvalService.getPendingApprovalsBySeverity(ThresholdSeverity.LOW)).extracting(ApprovalRequestSummaryDto::getId).containsExactly(id);
+        assertThat(approvalService.getPendingApprovalsBySeverity(ThresholdSeverity.HIGH)).isEmpty();
+
+        // Warm up: the first view of the pipeline also reads its thresholds into the snapshot cache
+        approvalService.getApprovalById(id);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ApprovalRequestDetailDto detail = approvalService.getApprovalById(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(detail.getThresholdResults()).hasSize(2);
+        assertThat(detail.getThresholdSeverity()).isEqualTo(ThresholdSeverity.MEDIUM);
+    }
+}
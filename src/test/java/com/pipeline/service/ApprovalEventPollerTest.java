@@ -0,0 +1,92 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A request whose insert commits after a later-inserted one's is still published by the poller,
+ * although its id is below the highest id seen by then. The scheduled poll is pushed out so the test drives it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "pipeline.approval-events.poll-interval-ms=3600000",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+@RecordApplicationEvents
+class ApprovalEventPollerTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private ApprovalEventServiceImpl approvalEventService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void publishesRequestsCommittedOutOfIdOrder() throws Exception {
+        try (Connection slow = dataSource.getConnection(); Connection fast = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            // Different statuses, so the inserts do not queue on the same status counter row
+            long slowId = insert(slow, "PENDING");
+            long fastId = insert(fast, "APPROVED");
+            assertThat(fastId).isGreaterThan(slowId);
+
+            approvalEventService.pollNewRequests();
+            assertThat(publishedIds()).containsExactly(fastId);
+
+            slow.commit();
+            approvalEventService.pollNewRequests();
+            assertThat(publishedIds()).containsExactly(fastId, slowId);
+
+            // Found once; later polls publish neither again
+            approvalEventService.pollNewRequests();
+            assertThat(publishedIds()).containsExactly(fastId, slowId);
+        }
+    }
+
+    private List<Long> publishedIds() {
+        return events.stream(ApprovalChangedEvent.class)
+                .flatMap(event -> event.requests().stream())
+                .map(ApprovalRequestSummaryDto::getId)
+                .toList();
+    }
+
+    private static long insert(Connection connection, String status) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO de_approval_requests (pipeline_id, stage, status, created_at, version) VALUES ('pipeline-1', 'INGESTION', ?, now(), 0) RETURNING id")) {
+            statement.setString(1, status);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.approval.ApprovalRequestSummaryDto;
+import com.pipeline.dto.approval.ApprovalStatsDto;
+import com.pipeline.enums.ApprovalStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ApprovalEventServiceImplTest {
+
+    private static final int SUBSCRIBERS = 5;
+    private static final int EVENTS = 20;
+
+    private final ApprovalService approvalService = mock(ApprovalService.class);
+    private final ApprovalEventServiceImpl approvalEventService =
+            new ApprovalEventServiceImpl(approvalService, event -> { }, 4);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(approvalEventService, "clientBufferSize", 256);
+        ReflectionTestUtils.setField(approvalEventService, "emitterTimeoutMs", 60_000L);
+        when(approvalService.getPendingApprovals()).thenReturn(List.of());
+        when(approvalService.getApprovalStats()).thenReturn(ApprovalStatsDto.builder().pendingCount(1).build());
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(approvalEventService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        approvalEventService.shutdown();
+    }
+
+    @Test
+    void everySubscriberReceivesTheSameFrames() throws Exception {
+        List<MvcResult> streams = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            streams.add(mockMvc.perform(get("/events")).andExpect(request().asyncStarted()).andReturn());
+        }
+
+        ApprovalRequestSummaryDto approved = ApprovalRequestSummaryDto.builder()
+                .id(42L).pipelineId("pipeline-1").status(ApprovalStatus.APPROVED).build();
+        for (int i = 0; i < EVENTS; i++) {
+            approvalEventService.onApprovalChanged(new ApprovalChangedEvent(List.of(approved)));
+            approvalEventService.heartbeat();
+        }
+
+        for (MvcResult stream : streams) {
+            await().atMost(Duration.ofSeconds(10))
+                    .until(() -> count(content(stream), ":heartbeat\n\n") == EVENTS);
+        }
+        String first = content(streams.get(0));
+        // A snapshot, then an approved and a stats frame per change, each with a single data line
+        assertThat(count(first, "\ndata:")).isEqualTo(1 + 2 * EVENTS);
+        assertThat(count(first, "event:approved\n")).isEqualTo(EVENTS);
+        assertThat(first).doesNotContain("\n\n\n");
+        for (MvcResult stream : streams) {
+            assertThat(content(stream)).isEqualTo(first);
+        }
+    }
+
+    private static String content(MvcResult stream) throws Exception {
+        return stream.getResponse().getContentAsString();
+    }
+
+    private static int count(String content, String frame) {
+        int count = 0;
+        for (int at = content.indexOf(frame); at >= 0; at = content.indexOf(frame, at + frame.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    @RestController
+    static class EventsController {
+
+        private final ApprovalEventService approvalEventService;
+
+        EventsController(ApprovalEventService approvalEventService) {
+            this.approvalEventService = approvalEventService;
+        }
+
+        @GetMapping("/events")
+        SseEmitter events() {
+            return approvalEventService.subscribe();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.enums.ApprovalStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writers changing the same statuses concurrently do not wait on each other's counter rows, and reconciling
+ * corrects drifted counts while a writer's transaction is open, without waiting for it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "pipeline.approval-stats.lock-timeout-ms=1000",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class ApprovalStatusCounterTest {
+
+    private static final String INSERT = "INSERT INTO de_approval_requests (pipeline_id, stage, status, created_at, version) " +
+            "VALUES ('pipeline-1', 'INGESTION', 'PENDING', now(), 0)";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private ApprovalStatusCounter approvalStatusCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void concurrentWritersDoNotWaitOnTheCounters() throws Exception {
+        long pending = approvalStatusCounter.getCounts().getOrDefault(ApprovalStatus.PENDING, 0L);
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            try (Statement a = first.createStatement(); Statement b = second.createStatement()) {
+                a.execute(INSERT);
+                // Would block on the first transaction's PENDING counter row were there only one
+                b.execute("SET LOCAL lock_timeout = 1000");
+                b.execute(INSERT);
+            }
+            first.commit();
+            second.commit();
+        }
+        assertThat(approvalStatusCounter.getCounts()).containsEntry(ApprovalStatus.PENDING, pending + 2);
+    }
+
+    @Test
+    void reconcileCorrectsDriftWithoutLockingWritersOut() throws Exception {
+        jdbcTemplate.update(INSERT);
+        Map<ApprovalStatus, Long> before = approvalStatusCounter.getCounts();
+        jdbcTemplate.update("INSERT INTO approval_status_count_slots (status, slot, request_count) VALUES ('REJECTED', 3, 5) " +
+                "ON CONFLICT (status, slot) DO UPDATE SET request_count = approval_status_count_slots.request_count + 5");
+
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            try (Statement statement = writer.createStatement()) {
+                statement.execute(INSERT);
+            }
+            // A table lock would wait for the open writer and time out
+            approvalStatusCounter.reconcile();
+            assertThat(approvalStatusCounter.getCounts()).isEqualTo(before);
+
+            writer.commit();
+        }
+        assertThat(approvalStatusCounter.getCounts()).containsEntry(ApprovalStatus.PENDING, before.get(ApprovalStatus.PENDING) + 1);
+        assertThat(approvalStatusCounter.getCounts()).doesNotContainKey(ApprovalStatus.REJECTED);
+    }
+}
@@ -0,0 +1,162 @@
+package com.pipeline.service;
+
+import com.pipeline.dto.storage.ConfigCacheStatsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The config cache against a local S3 stand-in that counts GETs and answers conditional ones with 304.
+ */
+class CachingS3StorageServiceTest {
+
+    private static final String LEGACY_KEY = "pipelines/1/steps/1.yaml";
+    private static final String CONTENT_KEY = ConfigStorageServiceImpl.KEY_PREFIX + "ab12.yaml";
+
+    private LocalS3 localS3;
+    private S3Client s3Client;
+    private S3StorageServiceImpl s3StorageService;
+
+    @BeforeEach
+    void setUp() {
+        localS3 = new LocalS3();
+        s3Client = localS3.client();
+        s3StorageService = new S3StorageServiceImpl(s3Client, 8, 4, 8 * 1024 * 1024);
+        ReflectionTestUtils.setField(s3StorageService, "bucket", LocalS3.BUCKET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3StorageService.shutdown();
+        s3Client.close();
+        localS3.close();
+    }
+
+    @Test
+    void freshEntriesAreServedFromMemory() {
+        CachingS3StorageService cache = cache(1024 * 1024, 300);
+        localS3.put(LEGACY_KEY, bytes("source: orders"));
+
+        assertThat(cache.get(LEGACY_KEY)).contains("source: orders");
+        assertThat(cache.get(LEGACY_KEY)).contains("source: orders");
+
+        assertThat(localS3.getRequests()).isEqualTo(1);
+        assertThat(cache.getStats().getHitCount()).isEqualTo(1);
+        assertThat(cache.getStats().getRevalidationCount()).isZero();
+    }
+
+    @Test
+    void staleEntriesAreRevalidatedWithTheirETag() {
+        CachingS3StorageService cache = cache(1024 * 1024, 0);
+        localS3.put(LEGACY_KEY, bytes("source: orders"));
+        cache.get(LEGACY_KEY);
+        localS3.resetCounters();
+
+        // Unchanged: a 304, and no bytes downloaded
+        assertThat(cache.get(LEGACY_KEY)).contains("source: orders");
+        assertThat(localS3.getRequests()).isEqualTo(1);
+        assertThat(localS3.bytesDownloaded()).isZero();
+
+        // Changed behind the cache's back: the new content replaces the entry
+        localS3.put(LEGACY_KEY, bytes("source: invoices"));
+        assertThat(cache.get(LEGACY_KEY)).contains("source: invoices");
+
+        ConfigCacheStatsDto stats = cache.getStats();
+        assertThat(stats.getRevalidationCount()).isEqualTo(2);
+        assertThat(stats.getNotModifiedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void contentAddressedKeysAreNeverRevalidated() {
+        CachingS3StorageService cache = cache(1024 * 1024, 0);
+        localS3.put(CONTENT_KEY, bytes("source: orders"));
+
+        cache.get(CONTENT_KEY);
+        cache.get(CONTENT_KEY);
+        cache.getAll(List.of(CONTENT_KEY));
+
+        assertThat(localS3.getRequests()).isEqualTo(1);
+        assertThat(cache.getStats().getRevalidationCount()).isZero();
+    }
+
+    @Test
+    void onlyAMissingObjectEvicts() {
+        CachingS3StorageService cache = cache(1024 * 1024, 0);
+        localS3.put(LEGACY_KEY, bytes("source: orders"));
+        cache.get(LEGACY_KEY);
+
+        // S3 failing says nothing about the object: the cached copy is served and kept
+        localS3.setUnavailable(true);
+        assertThat(cache.get(LEGACY_KEY)).contains("source: orders");
+        assertThat(cache.getStats().getEntryCount()).isEqualTo(1);
+
+        localS3.setUnavailable(false);
+        localS3.remove(LEGACY_KEY);
+        assertThat(cache.get(LEGACY_KEY)).isEmpty();
+        assertThat(cache.getStats().getEntryCount()).isZero();
+    }
+
+    @Test
+    void getAllFetchesOnlyTheMisses() {
+        CachingS3StorageService cache = cache(1024 * 1024, 300);
+        List<String> keys = IntStream.range(0, 6).mapToObj(i -> "pipelines/1/steps/" + i + ".yaml").toList();
+        keys.forEach(key -> localS3.put(key, bytes("key: " + key)));
+        cache.getAll(keys.subList(0, 3));
+        localS3.resetCounters();
+
+        assertThat(cache.getAll(keys)).hasSize(6).containsEntry(keys.get(5), "key: " + keys.get(5));
+        assertThat(localS3.getRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void writesThroughTheServiceEvictTheKey() {
+        CachingS3StorageService cache = cache(1024 * 1024, 300);
+        localS3.put(LEGACY_KEY, bytes("source: orders"));
+        cache.get(LEGACY_KEY);
+
+        cache.upload(LEGACY_KEY, "source: invoices", "text/yaml");
+        assertThat(cache.get(LEGACY_KEY)).contains("source: invoices");
+
+        cache.delete(LEGACY_KEY);
+        assertThat(cache.getStats().getEntryCount()).isZero();
+    }
+
+    @Test
+    void cacheIsBoundedByBytes() {
+        long maxBytes = 16 * 1024;
+        CachingS3StorageService cache = cache(maxBytes, 300);
+        char[] config = new char[1024];
+        Arrays.fill(config, 'x');
+        List<String> keys = IntStream.range(0, 40).mapToObj(i -> "pipelines/1/steps/" + i + ".yaml").toList();
+        keys.forEach(key -> localS3.put(key, bytes(new String(config))));
+
+        cache.getAll(keys);
+
+        // Eviction runs in Caffeine's maintenance, so it may trail the inserts a little
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            ConfigCacheStatsDto stats = cache.getStats();
+            assertThat(stats.getWeightedSizeBytes()).isLessThanOrEqualTo(maxBytes);
+            assertThat(stats.getEvictionCount()).isPositive();
+            assertThat(stats.getEntryCount()).isLessThan(keys.size());
+        });
+    }
+
+    private CachingS3StorageService cache(long maxBytes, long revalidateAfterSeconds) {
+        return new CachingS3StorageService(s3StorageService, maxBytes, revalidateAfterSeconds);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,181 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ConfigType;
+import com.pipeline.repository.ConfigObjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConfigStorageServiceImplTest {
+
+    private static final String LEGACY_KEY = "pipelines/7/steps/1-abc.yaml";
+    private static final String SHARED_KEY = ConfigStorageServiceImpl.KEY_PREFIX + "0123.json";
+    private static final List<Long> RESERVATION = List.of(5L);
+    private static final List<Long> COPY_RESERVATION = List.of(6L);
+
+    private final ConfigObjectRepository configObjectRepository = mock(ConfigObjectRepository.class);
+    private final S3StorageService s3StorageService = mock(S3StorageService.class);
+    private final S3OutboxService s3OutboxService = mock(S3OutboxService.class);
+    private final ConfigStorageServiceImpl configStorageService =
+            new ConfigStorageServiceImpl(configObjectRepository, s3StorageService, s3OutboxService);
+
+    @BeforeEach
+    void setUp() {
+        when(configObjectRepository.addReference(SHARED_KEY)).thenReturn(1);
+        when(s3StorageService.copyAll(any())).thenReturn(List.of());
+        when(s3OutboxService.scheduleCleanup(anyCollection())).thenReturn(RESERVATION);
+    }
+
+    @Test
+    void copyAllSharesContentAddressedKeysAndCopiesLegacyKeys() {
+        Map<String, String> copied = configStorageService.copyAll(List.of(SHARED_KEY, LEGACY_KEY));
+
+        assertThat(copied).containsEntry(SHARED_KEY, SHARED_KEY);
+        assertThat(copied.get(LEGACY_KEY)).startsWith("pipelines/copies/").endsWith(".yaml");
+        verify(s3StorageService).copyAll(Map.of(LEGACY_KEY, copied.get(LEGACY_KEY)));
+    }
+
+    @Test
+    void copiesAreReservedForCleanupBeforeCopyingAndKeptWithTheTransaction() {
+        Map<String, String> copied = configStorageService.copyAll(List.of(SHARED_KEY, LEGACY_KEY));
+
+        InOrder order = inOrder(s3OutboxService, s3StorageService);
+        order.verify(s3OutboxService).scheduleCleanup(argThat(keys -> List.copyOf(keys).equals(List.of(copied.get(LEGACY_KEY)))));
+        order.verify(s3StorageService).copyAll(any());
+        order.verify(s3OutboxService).cancelCleanup(RESERVATION);
+        verify(s3OutboxService, never()).cleanupNow(anyCollection());
+        verify(s3StorageService, never()).delete(anyString());
+        verify(s3StorageService, never()).deleteAll(anyCollection());
+    }
+
+    @Test
+    void failedCopyIsCleanedUpThroughTheOutbox() {
+        when(s3StorageService.copyAll(any())).thenReturn(List.of(LEGACY_KEY));
+
+        assertThatThrownBy(() -> configStorageService.copyAll(List.of(LEGACY_KEY, "pipelines/7/steps/2-def.json")))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(s3OutboxService).cleanupNow(RESERVATION);
+        verify(s3OutboxService, never()).cancelCleanup(anyCollection());
+        verify(s3StorageService, never()).delete(anyString());
+        verify(s3StorageService, never()).deleteAll(anyCollection());
+    }
+
+    @Test
+    void sharedKeysNeedNoCleanup() {
+        configStorageService.copyAll(List.of(SHARED_KEY));
+
+        verifyNoInteractions(s3OutboxService);
+        verify(s3StorageService, never()).copyAll(any());
+    }
+
+    @Test
+    void stagedContentIsNormalizedAndKeyedLikeStoredContent() {
+        AtomicReference<String> uploaded = captureUploads();
+        // Line endings split across reads, a BOM, and trailing whitespace that is not ASCII
+        String repeated = "a: 1\r\n".repeat(20_000);
+        for (String content : List.of("a: 1\r\nb: 2\r\n\r\n", "\uFEFFa: 1\rb:  2 \t\n", repeated + "c: é\u3000\u2028 \n", "\n \n")) {
+            StagedConfig staged = configStorageService.stage(stream(content), ConfigType.YAML);
+
+            assertThat(uploaded.get()).isEqualTo(configStorageService.normalize(content));
+            assertThat(staged.s3Key()).isEqualTo(configStorageService.keyOf(content, ConfigType.YAML));
+            assertThat(staged.sizeBytes()).isEqualTo(uploaded.get().getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    @Test
+    void stagedContentIsCopiedToItsKeyWithBothObjectsReservedForCleanup() {
+        captureUploads();
+        when(s3OutboxService.scheduleCleanup(anyCollection())).thenReturn(RESERVATION, COPY_RESERVATION);
+
+        StagedConfig staged = configStorageService.stage(stream("{}"), ConfigType.JSON);
+
+        assertThat(staged.stagingKey()).startsWith("configs/staging/").endsWith(".json");
+        assertThat(staged.cleanup()).containsExactly(5L, 6L);
+        InOrder order = inOrder(s3OutboxService, s3StorageService);
+        order.verify(s3OutboxService).scheduleCleanup(List.of(staged.stagingKey()));
+        order.verify(s3StorageService).upload(eq(staged.stagingKey()), any(InputStream.class), eq(-1L), eq("application/json"));
+        order.verify(s3OutboxService).scheduleCleanup(List.of(staged.s3Key()));
+        order.verify(s3StorageService).copy(staged.stagingKey(), staged.s3Key());
+        verify(s3OutboxService, never()).cleanupNow(anyCollection());
+    }
+
+    @Test
+    void failedStagingIsCleanedUpThroughTheOutbox() {
+        when(s3StorageService.upload(anyString(), any(InputStream.class), anyLong(), anyString())).thenThrow(new UncheckedIOException("body", new IOException()));
+
+        assertThatThrownBy(() -> configStorageService.stage(stream("{}"), ConfigType.JSON)).isInstanceOf(UncheckedIOException.class);
+
+        verify(s3OutboxService).cleanupNow(RESERVATION);
+        verify(s3StorageService, never()).copy(anyString(), anyString());
+        verify(s3StorageService, never()).delete(anyString());
+    }
+
+    @Test
+    void failedCopyToTheKeyIsCleanedUpThroughTheOutbox() {
+        captureUploads();
+        when(s3OutboxService.scheduleCleanup(anyCollection())).thenReturn(RESERVATION, COPY_RESERVATION);
+        doThrow(new IllegalStateException("copy")).when(s3StorageService).copy(anyString(), anyString());
+
+        assertThatThrownBy(() -> configStorageService.stage(stream("{}"), ConfigType.JSON)).isInstanceOf(IllegalStateException.class);
+
+        verify(s3OutboxService).cleanupNow(List.of(5L, 6L));
+        verify(s3StorageService, never()).delete(anyString());
+    }
+
+    @Test
+    void commitCopiesNewContentAgainAndDropsTheStagingObject() {
+        StagedConfig staged = new StagedConfig(SHARED_KEY, "0123", "application/json", 2, "configs/staging/s.json", RESERVATION);
+        when(configObjectRepository.acquire(SHARED_KEY, "0123", "application/json", 2)).thenReturn(true, false);
+
+        assertThat(configStorageService.commit(staged)).isEqualTo(SHARED_KEY);
+        verify(s3OutboxService).enqueueCopy("configs/staging/s.json", SHARED_KEY);
+
+        // Content that is already stored only loses its staging object
+        assertThat(configStorageService.commit(staged)).isEqualTo(SHARED_KEY);
+        verify(s3OutboxService).enqueueDelete(List.of("configs/staging/s.json"));
+        verify(s3OutboxService, times(2)).cancelCleanup(RESERVATION);
+    }
+
+    /**
+     * The content of the last upload, read through like the S3 client would
+     */
+    private AtomicReference<String> captureUploads() {
+        AtomicReference<String> uploaded = new AtomicReference<>();
+        when(s3StorageService.upload(anyString(), any(InputStream.class), anyLong(), anyString())).thenAnswer(invocation -> {
+            uploaded.set(new String(invocation.getArgument(1, InputStream.class).readAllBytes(), StandardCharsets.UTF_8));
+            return invocation.getArgument(0);
+        });
+        return uploaded;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.StepType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigTokenizerTest {
+
+    private final StepConfigValidator validator = new StepConfigValidator(50, 1024 * 1024, 20, 1, 256 * 1024);
+
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
+    }
+
+    @Test
+    void tokensCoverKeysPathsValuesAndWords() {
+        Set<String> tokens = ConfigTokenizer.tokenize("source:\n  uri: s3://Landing/Orders\n  formats: [csv, null]\n", ConfigType.YAML);
+
+        assertThat(tokens).contains("source", "uri", "source.uri", "s3://landing/orders", "uri:s3://landing/orders",
+                "landing", "uri:orders", "formats", "source.formats", "csv", "formats:csv");
+        assertThat(tokens).doesNotContain("null", "formats:null");
+    }
+
+    @Test
+    void unparseableContentIsTokenizedByItsWords() {
+        assertThat(ConfigTokenizer.tokenize("{\"broken\": ", ConfigType.JSON)).containsExactlyInAnyOrder("broken");
+    }
+
+    @Test
+    void streamedTokensMatchTokensOfTheStoredForm() throws Exception {
+        // Values the validation walks, skips and reads into trees alike
+        String apiCall = "{\"url\": \"https://api.example.com/v1\", \"method\": \"POST\", " +
+                "\"headers\": {\"Accept\": \"application/json\"}, \"retry\": {\"backoff\": [1, 2.5, true]}}";
+        String validation = "rules:\n  - column: total\n    check: {min: 0}\n  - column: id\n";
+
+        assertThat(streamed(StepType.API_CALL, ConfigType.JSON, apiCall)).isEqualTo(ConfigTokenizer.tokenize(apiCall, ConfigType.JSON));
+        assertThat(streamed(StepType.DATA_VALIDATION, ConfigType.YAML, validation)).isEqualTo(ConfigTokenizer.tokenize(validation, ConfigType.YAML));
+    }
+
+    private Set<String> streamed(StepType stepType, ConfigType configType, String content) throws Exception {
+        ConfigTokenizer tokenizer = new ConfigTokenizer();
+        InputStream body = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        try (InputStream validating = validator.validating(1, stepType, configType, body, tokenizer)) {
+            validating.transferTo(OutputStream.nullOutputStream());
+        }
+        return tokenizer.tokens();
+    }
+}
@@ -0,0 +1,185 @@
+package com.pipeline.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A single-bucket, in-memory S3 stand-in on a local port: GetObject (honouring If-None-Match), PutObject and
+ * CopyObject, path-style. Counts the object bytes that cross the wire, which is what a copy path should keep off the
+ * client, and the GETs, which is what a cache in front of it should save.
+ */
+class LocalS3 implements AutoCloseable {
+
+    static final String BUCKET = "test";
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final LongAdder bytesDownloaded = new LongAdder();
+    private final LongAdder bytesUploaded = new LongAdder();
+    private final LongAdder getRequests = new LongAdder();
+    private volatile boolean unavailable;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32);
+    private final HttpServer server;
+
+    LocalS3() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/" + BUCKET + "/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    S3Client client() {
+        return S3Client.builder()
+                .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .chunkedEncodingEnabled(false)
+                        .checksumValidationEnabled(false)
+                        .build())
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(64))
+                .build();
+    }
+
+    void put(String key, byte[] content) {
+        objects.put(key, content);
+    }
+
+    byte[] get(String key) {
+        return objects.get(key);
+    }
+
+    void remove(String key) {
+        objects.remove(key);
+    }
+
+    /**
+     * While set, every request fails with a 503, as during an outage or throttling
+     */
+    void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    long getRequests() {
+        return getRequests.sum();
+    }
+
+    long bytesDownloaded() {
+        return bytesDownloaded.sum();
+    }
+
+    long bytesUploaded() {
+        return bytesUploaded.sum();
+    }
+
+    void resetCounters() {
+        bytesDownloaded.reset();
+        bytesUploaded.reset();
+        getRequests.reset();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String key = exchange.getRequestURI().getPath().substring(BUCKET.length() + 2);
+            if (unavailable) {
+                send(exchange, 503, "<Error><Code>SlowDown</Code><Message>Please reduce your request rate.</Message></Error>".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> {
+                    getRequests.increment();
+                    byte[] content = objects.get(key);
+                    if (content == null) {
+                        noSuchKey(exchange);
+                        return;
+                    }
+                    exchange.getResponseHeaders().add("ETag", eTag(content));
+                    if (eTag(content).equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                        send(exchange, 304, new byte[0]);
+                        return;
+                    }
+                    // Counted before the response goes out, so a client that has its answer sees the count
+                    bytesDownloaded.add(content.length);
+                    send(exchange, 200, content);
+                }
+                case "PUT" -> {
+                    String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+                    if (copySource == null) {
+                        byte[] content;
+                        try (InputStream body = exchange.getRequestBody()) {
+                            content = body.readAllBytes();
+                        }
+                        bytesUploaded.add(content.length);
+                        objects.put(key, content);
+                        exchange.getResponseHeaders().add("ETag", eTag(content));
+                        send(exchange, 200, new byte[0]);
+                        return;
+                    }
+                    String source = URLDecoder.decode(copySource, StandardCharsets.UTF_8).replaceFirst("^/?" + BUCKET + "/", "");
+                    byte[] content = objects.get(source);
+                    if (content == null) {
+                        noSuchKey(exchange);
+                        return;
+                    }
+                    objects.put(key, content);
+                    send(exchange, 200, ("<CopyObjectResult><ETag>" + eTag(content) + "</ETag></CopyObjectResult>").getBytes(StandardCharsets.UTF_8));
+                }
+                default -> send(exchange, 405, new byte[0]);
+            }
+        }
+    }
+
+    private static void noSuchKey(HttpExchange exchange) throws IOException {
+        send(exchange, 404, "<Error><Code>NoSuchKey</Code><Message>The specified key does not exist.</Message></Error>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String eTag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
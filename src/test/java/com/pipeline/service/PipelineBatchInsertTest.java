@@ -0,0 +1,103 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.pipeline.PipelineRequestDto;
+import com.pipeline.dto.pipeline.PipelineResponseDto;
+import com.pipeline.dto.pipeline.PipelineStepDto;
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saving a pipeline costs the same number of statements however many steps it has: the step inserts are one
+ * JDBC batch, and the ids come from pooled sequences rather than one round trip per row.
+ * Counted by Hibernate statistics, so statements issued through JdbcTemplate (the search index) are not included.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class PipelineBatchInsertTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private PipelineService pipelineService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void createIsAFixedNumberOfStatements() {
+        // Warm up: the first save of each entity also fetches its first block of ids
+        pipelineService.createPipeline(pipeline(1));
+
+        long fewSteps = countStatements(() -> pipelineService.createPipeline(pipeline(5)));
+        long manySteps = countStatements(() -> pipelineService.createPipeline(pipeline(50)));
+
+        // 51 rows, and at most one more statement: the sequence hands out ids 50 at a time
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(51);
+        assertThat(manySteps).isLessThanOrEqualTo(fewSteps + 1);
+    }
+
+    @Test
+    void copyIsAFixedNumberOfStatements() {
+        Long few = pipelineService.createPipeline(pipeline(5)).getId();
+        Long many = pipelineService.createPipeline(pipeline(50)).getId();
+        pipelineService.copyPipeline(few);
+
+        long fewSteps = countStatements(() -> pipelineService.copyPipeline(few));
+        long manySteps = countStatements(() -> pipelineService.copyPipeline(many));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(51);
+        assertThat(manySteps).isLessThanOrEqualTo(fewSteps + 1);
+    }
+
+    private long countStatements(Supplier<PipelineResponseDto> save) {
+        statistics.clear();
+        save.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static PipelineRequestDto pipeline(int steps) {
+        List<PipelineStepDto> stepDtos = IntStream.rangeClosed(1, steps)
+                .mapToObj(order -> new PipelineStepDto("step-" + order, StepType.DATA_TRANSFORMATION, order, null, null))
+                .toList();
+        return PipelineRequestDto.builder()
+                .name("pipeline with " + steps + " steps")
+                .scheduleType(ScheduleType.MANUAL)
+                .steps(stepDtos)
+                .build();
+    }
+}
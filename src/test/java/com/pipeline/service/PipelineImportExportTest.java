@@ -0,0 +1,128 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.pipeline.PipelineImportResultDto;
+import com.pipeline.dto.pipeline.PipelineRequestDto;
+import com.pipeline.dto.pipeline.PipelineStepDto;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NDJSON export and import, in chunks of two so that a few lines span several chunks and transactions
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "pipeline.bulk.chunk-size=2",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class PipelineImportExportTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private PipelineService pipelineService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void importedExportReproducesEveryPipeline() {
+        for (int i = 1; i <= 5; i++) {
+            PipelineRequestDto request = pipeline("round-trip-" + i, "{\"channel\": \"email-" + i + "\"}");
+            request.setDescription("exported " + i);
+            request.setScheduleType(ScheduleType.DAILY);
+            request.setScheduleTime(LocalTime.of(2, i));
+            pipelineService.createPipeline(request);
+        }
+        List<String> exported = export();
+        assertThat(exported).hasSize(pipelineCount());
+
+        PipelineImportResultDto result = pipelineService.importPipelines(ndjson(exported));
+
+        assertThat(result.getImported()).isEqualTo(exported.size());
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+        // Every pipeline now exists twice, identical down to its step configs
+        List<String> twice = new ArrayList<>(exported);
+        twice.addAll(exported);
+        assertThat(export()).containsExactlyInAnyOrderElementsOf(twice);
+    }
+
+    @Test
+    void failedLinesAndChunksAreReportedWithoutStoppingTheImport() throws Exception {
+        List<String> lines = List.of(
+                line("partial-1", "{\"channel\": \"email\"}"),
+                "{\"name\": \"partial-2\", ",
+                line("partial-3", "{\"channel\": \"slack\"}"),
+                // Rejected by the notification schema, which rolls back the chunk it shares with line 5
+                line("partial-4", "{\"recipients\": []}"),
+                line("partial-5", "{\"channel\": \"webhook\"}"),
+                "",
+                line("partial-7", "{\"channel\": \"pager\"}"));
+
+        PipelineImportResultDto result = pipelineService.importPipelines(ndjson(lines));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(2);
+        assertThat(result.getErrors().get(0)).startsWith("line 2: ");
+        assertThat(result.getErrors().get(1)).startsWith("lines 4-5: ").contains("channel");
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM pipelines WHERE name LIKE 'partial-%'", String.class))
+                .containsExactlyInAnyOrder("partial-1", "partial-3", "partial-7");
+    }
+
+    private List<String> export() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pipelineService.exportPipelines(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private int pipelineCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM pipelines", Integer.class);
+    }
+
+    private String line(String name, String config) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(pipeline(name, config));
+    }
+
+    private static ByteArrayInputStream ndjson(List<String> lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PipelineRequestDto pipeline(String name, String config) {
+        List<PipelineStepDto> steps = List.of(
+                new PipelineStepDto("extract", StepType.DATA_INGESTION, 1, null, null),
+                new PipelineStepDto("notify", StepType.NOTIFICATION, 2, ConfigType.JSON, config));
+        return PipelineRequestDto.builder().name(name).scheduleType(ScheduleType.MANUAL).steps(steps).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.pipeline.PipelineRequestDto;
+import com.pipeline.enums.ScheduleType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /pipelines pages by (updatedAt, id): pipelines updated in the same instant are split across pages without
+ * being skipped or repeated, and the name prefix filter matches LIKE wildcards literally.
+ * Each test names its pipelines under its own prefix, so rows left by other tests are filtered out.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+@AutoConfigureMockMvc
+class PipelinePageTest {
+
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PipelineService pipelineService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesThroughTiesOnUpdatedAtWithoutGapsOrRepeats() throws Exception {
+        String prefix = "tie-" + UUID.randomUUID() + "-";
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(create(prefix + i));
+        }
+        // Every pipeline but the last shares one updated_at; the last is newer and comes first
+        Instant tied = Instant.parse("2026-01-01T00:00:00.123456Z");
+        jdbcTemplate.update("UPDATE pipelines SET updated_at = ? WHERE name LIKE ?", Timestamp.from(tied), prefix + "%");
+        jdbcTemplate.update("UPDATE pipelines SET updated_at = ? WHERE id = ?", Timestamp.from(tied.plusSeconds(1)), ids.get(6));
+
+        List<Long> expected = new ArrayList<>(ids.subList(0, 6));
+        expected.sort(Comparator.reverseOrder());
+        expected.add(0, ids.get(6));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/pipelines").param("namePrefix", prefix).param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            List<Long> page = ids(result);
+            assertThat(page).hasSizeLessThanOrEqualTo(2);
+            seen.addAll(page);
+            cursor = result.getResponse().getHeader(NEXT_CURSOR);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void namePrefixMatchesWildcardsLiterally() throws Exception {
+        String prefix = "esc-" + UUID.randomUUID() + "-";
+        Long percent = create(prefix + "50%-off");
+        create(prefix + "500-off");
+        Long underscore = create(prefix + "a_b");
+        create(prefix + "axb");
+        Long bang = create(prefix + "a!b");
+        create(prefix + "ab");
+
+        assertThat(page(prefix + "50%")).containsExactly(percent);
+        assertThat(page(prefix + "a_")).containsExactly(underscore);
+        assertThat(page(prefix + "a!")).containsExactly(bang);
+        assertThat(page(prefix + "a")).hasSize(4);
+    }
+
+    @Test
+    void defaultPageIsBounded() throws Exception {
+        String prefix = "limit-" + UUID.randomUUID() + "-";
+        for (int i = 0; i < 51; i++) {
+            create(prefix + i);
+        }
+
+        MvcResult result = mockMvc.perform(get("/pipelines").param("namePrefix", prefix)).andExpect(status().isOk()).andReturn();
+
+        assertThat(ids(result)).hasSize(50);
+        assertThat(result.getResponse().getHeader(NEXT_CURSOR)).isNotNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/pipelines").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    private List<Long> page(String namePrefix) throws Exception {
+        MvcResult result = mockMvc.perform(get("/pipelines").param("namePrefix", namePrefix)).andExpect(status().isOk()).andReturn();
+        assertThat(result.getResponse().getHeader(NEXT_CURSOR)).isNull();
+        return ids(result);
+    }
+
+    private List<Long> ids(MvcResult result) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(result.getResponse().getContentAsString())) {
+            ids.add(item.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Long create(String name) {
+        PipelineRequestDto dto = new PipelineRequestDto();
+        dto.setName(name);
+        dto.setEnabled(false);
+        dto.setScheduleType(ScheduleType.MANUAL);
+        dto.setSteps(List.of());
+        return pipelineService.createPipeline(dto).getId();
+    }
+}
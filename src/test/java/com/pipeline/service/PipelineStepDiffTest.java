@@ -0,0 +1,187 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.pipeline.PipelinePatchDto;
+import com.pipeline.dto.pipeline.PipelineRequestDto;
+import com.pipeline.dto.pipeline.PipelineStepDto;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Updating a pipeline diffs its steps against the stored rows: matched steps keep their row and are only written
+ * when something changed, and configs are referenced and released per step rather than per save.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class PipelineStepDiffTest {
+
+    private static final String EMAIL = "{\"channel\": \"email\"}";
+    private static final String SLACK = "{\"channel\": \"slack\"}";
+    private static final String WEBHOOK = "{\"channel\": \"webhook\"}";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private PipelineService pipelineService;
+
+    @Autowired
+    private ConfigStorageService configStorageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void unchangedStepsAreNotWritten() {
+        PipelineRequestDto request = pipeline(step("extract", 1, EMAIL), step("notify", 2, SLACK));
+        Long id = pipelineService.createPipeline(request).getId();
+        Map<String, Map<String, Object>> before = steps(id);
+        long emailRefs = refCount(EMAIL);
+
+        statistics.clear();
+        pipelineService.updatePipeline(id, request);
+
+        // Only the pipeline row (its updatedAt) is written
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(steps(id)).isEqualTo(before);
+        assertThat(refCount(EMAIL)).isEqualTo(emailRefs);
+    }
+
+    @Test
+    void reorderedAndRenamedStepsKeepTheirRows() {
+        Long id = pipelineService.createPipeline(pipeline(step("a", 1, null), step("b", 2, null), step("c", 3, null))).getId();
+        Map<String, Map<String, Object>> before = steps(id);
+
+        // a and b swap places (matched by name); c becomes d (matched by order)
+        pipelineService.updatePipeline(id, pipeline(step("b", 1, null), step("a", 2, null), step("d", 3, null)));
+
+        Map<String, Map<String, Object>> after = steps(id);
+        assertThat(after).containsOnlyKeys("a", "b", "d");
+        assertThat(after.get("a").get("id")).isEqualTo(before.get("a").get("id"));
+        assertThat(after.get("a").get("step_order")).isEqualTo(2);
+        assertThat(after.get("b").get("id")).isEqualTo(before.get("b").get("id"));
+        assertThat(after.get("b").get("step_order")).isEqualTo(1);
+        assertThat(after.get("d").get("id")).isEqualTo(before.get("c").get("id"));
+        assertThat(after.get("d").get("step_order")).isEqualTo(3);
+    }
+
+    @Test
+    void removedAndReplacedConfigsAreReleased() {
+        // SLACK is shared by two steps of the pipeline
+        Long id = pipelineService.createPipeline(pipeline(step("a", 1, EMAIL), step("b", 2, SLACK), step("c", 3, SLACK))).getId();
+        Map<String, Map<String, Object>> before = steps(id);
+        long emailRefs = refCount(EMAIL);
+        long slackRefs = refCount(SLACK);
+        long webhookRefs = refCount(WEBHOOK);
+
+        // c is removed, and a's config is replaced
+        pipelineService.updatePipeline(id, pipeline(step("a", 1, WEBHOOK), step("b", 2, SLACK)));
+
+        Map<String, Map<String, Object>> after = steps(id);
+        assertThat(after).containsOnlyKeys("a", "b");
+        assertThat(after.get("a").get("id")).isEqualTo(before.get("a").get("id"));
+        assertThat(after.get("a").get("config_s3_key")).isEqualTo(configStorageService.keyOf(WEBHOOK, ConfigType.JSON));
+        assertThat(after.get("b")).isEqualTo(before.get("b"));
+        assertThat(refCount(EMAIL)).isEqualTo(emailRefs - 1);
+        assertThat(refCount(SLACK)).isEqualTo(slackRefs - 1);
+        assertThat(refCount(WEBHOOK)).isEqualTo(webhookRefs + 1);
+    }
+
+    @Test
+    void patchChangesOnlyTheGivenFields() {
+        PipelineRequestDto request = pipeline(step("a", 1, EMAIL), step("b", 2, SLACK), step("c", 3, null));
+        request.setDescription("nightly load");
+        Long id = pipelineService.createPipeline(request).getId();
+        Map<String, Map<String, Object>> before = steps(id);
+
+        PipelineStepDto rename = new PipelineStepDto("renamed", null, 2, null, null);
+        PipelinePatchDto patch = PipelinePatchDto.builder()
+                .name("patched")
+                .steps(List.of(rename, step("added", 4, WEBHOOK)))
+                .removeStepOrders(List.of(3))
+                .build();
+        pipelineService.patchPipeline(id, patch);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT name, description FROM pipelines WHERE id = ?", id);
+        assertThat(row.get("name")).isEqualTo("patched");
+        assertThat(row.get("description")).isEqualTo("nightly load");
+
+        Map<String, Map<String, Object>> after = steps(id);
+        assertThat(after).containsOnlyKeys("a", "renamed", "added");
+        assertThat(after.get("a")).isEqualTo(before.get("a"));
+        // The step type and config were not in the patch, so they are kept
+        Map<String, Object> renamed = after.get("renamed");
+        assertThat(renamed.get("id")).isEqualTo(before.get("b").get("id"));
+        assertThat(renamed.get("step_type")).isEqualTo(StepType.NOTIFICATION.name());
+        assertThat(renamed.get("config_s3_key")).isEqualTo(before.get("b").get("config_s3_key"));
+        assertThat(after.get("added").get("config_s3_key")).isEqualTo(configStorageService.keyOf(WEBHOOK, ConfigType.JSON));
+    }
+
+    /**
+     * The pipeline's step rows by step name
+     */
+    private Map<String, Map<String, Object>> steps(Long pipelineId) {
+        Map<String, Map<String, Object>> steps = new LinkedHashMap<>();
+        jdbcTemplate.queryForList("SELECT id, step_name, step_type, step_order, config_s3_key, updated_at FROM pipeline_steps " +
+                "WHERE pipeline_id = ? ORDER BY step_order", pipelineId).forEach(row -> steps.put((String) row.get("step_name"), row));
+        return steps;
+    }
+
+    private long refCount(String content) {
+        List<Long> counts = jdbcTemplate.queryForList("SELECT ref_count FROM config_objects WHERE s3_key = ?", Long.class,
+                configStorageService.keyOf(content, ConfigType.JSON));
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    private static PipelineStepDto step(String name, int order, String config) {
+        return new PipelineStepDto(name, StepType.NOTIFICATION, order, config != null ? ConfigType.JSON : null, config);
+    }
+
+    private static PipelineRequestDto pipeline(PipelineStepDto... steps) {
+        return PipelineRequestDto.builder()
+                .name("diffed pipeline")
+                .scheduleType(ScheduleType.MANUAL)
+                .steps(List.of(steps))
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.pipeline.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Copying a pipeline's step configs: the old download-then-upload path against server-side CopyObject, on a local
+ * S3 stand-in. Prints the median of repeated runs and the bytes each path moves through the client, and asserts
+ * nothing; run with mvn test -Pbenchmark. A loopback stand-in has none of the network cost the copy path saves.
+ */
+class S3CopyBenchmark {
+
+    private static final int STEPS = 50;
+    private static final int CONFIG_BYTES = 256 * 1024;
+    private static final int RUNS = 5;
+
+    private LocalS3 localS3;
+    private S3Client s3Client;
+    private S3StorageServiceImpl s3StorageService;
+    private List<String> sourceKeys;
+
+    @BeforeEach
+    void setUp() {
+        localS3 = new LocalS3();
+        s3Client = localS3.client();
+        s3StorageService = new S3StorageServiceImpl(s3Client, 32, 16, 8 * 1024 * 1024);
+        ReflectionTestUtils.setField(s3StorageService, "bucket", LocalS3.BUCKET);
+
+        byte[] config = new byte[CONFIG_BYTES];
+        Arrays.fill(config, (byte) 'x');
+        sourceKeys = IntStream.range(0, STEPS).mapToObj(i -> "pipelines/1/steps/" + i + ".yaml").toList();
+        sourceKeys.forEach(key -> localS3.put(key, config));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3StorageService.shutdown();
+        s3Client.close();
+        localS3.close();
+    }
+
+    @Test
+    void downloadUploadAgainstServerSideCopy() {
+        long downloadUploadNanos = time(run -> sourceKeys.forEach(key -> {
+            String content = s3StorageService.get(key).orElseThrow();
+            s3StorageService.upload(destination(key, "download-upload", run), content, "text/yaml");
+        }));
+        long downloadUploadBytes = localS3.bytesDownloaded() + localS3.bytesUploaded();
+
+        long copyNanos = time(run -> {
+            Map<String, String> copies = new LinkedHashMap<>();
+            sourceKeys.forEach(key -> copies.put(key, destination(key, "copy", run)));
+            s3StorageService.copyAll(copies);
+        });
+        long copyBytes = localS3.bytesDownloaded() + localS3.bytesUploaded();
+
+        System.out.printf("Copying %d configs of %d KB, median of %d runs:%n", STEPS, CONFIG_BYTES / 1024, RUNS);
+        System.out.printf("  download-then-upload: %6.1f ms, %,d bytes through the client%n", downloadUploadNanos / 1e6, downloadUploadBytes / RUNS);
+        System.out.printf("  server-side copy:     %6.1f ms, %,d bytes through the client%n", copyNanos / 1e6, copyBytes / RUNS);
+    }
+
+    /**
+     * Median wall time of the runs; the byte counters are reset first and left summing over all runs
+     */
+    private long time(Consumer<Integer> copy) {
+        copy.accept(-1); // warm-up
+        localS3.resetCounters();
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            copy.accept(run);
+            nanos[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+
+    private static String destination(String key, String path, int run) {
+        return "pipelines/copies/" + path + "/" + run + "/" + key;
+    }
+}
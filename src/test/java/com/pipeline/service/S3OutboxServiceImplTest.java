@@ -0,0 +1,244 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.enums.S3OutboxOperation;
+import com.pipeline.model.S3OutboxEntry;
+import com.pipeline.repository.ConfigObjectRepository;
+import com.pipeline.repository.S3OutboxEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbox entries are leased in one short transaction, applied to S3 with no transaction open, and completed in
+ * another; an entry is retried up to the attempt limit and then dead-lettered, and a key leased by one worker is
+ * not applied by another until the lease ends. A copy is only made to a key that is still referenced, and its source is
+ * deleted once it is. Cleanup reservations survive a rollback and only a commit drops them.
+ * The application's own outbox sweep is pushed out so the test drives a worker of its own against a mocked S3.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "pipeline.s3.outbox.retry-interval-ms=3600000",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+class S3OutboxServiceImplTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private S3OutboxEntryRepository outboxRepository;
+
+    @Autowired
+    private ConfigObjectRepository configObjectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final S3StorageService s3StorageService = mock(S3StorageService.class);
+
+    private S3OutboxServiceImpl outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new S3OutboxServiceImpl(outboxRepository, configObjectRepository, s3StorageService, transactionManager, 1);
+        ReflectionTestUtils.setField(outbox, "batchSize", 1000);
+        ReflectionTestUtils.setField(outbox, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(outbox, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(outbox, "cleanupDelaySeconds", 3600L);
+        jdbcTemplate.update("DELETE FROM s3_outbox");
+    }
+
+    @Test
+    void putRunsOutsideAnyTransactionAndLeavesTheRowUnlocked() {
+        String key = "configs/sha256/put.json";
+        jdbcTemplate.update("INSERT INTO config_objects (s3_key, content_hash, content_type, size_bytes, ref_count, created_at) " +
+                "VALUES (?, 'put', 'application/json', 2, 1, now())", key);
+        Long id = save(S3OutboxOperation.PUT, key).getId();
+
+        AtomicBoolean checked = new AtomicBoolean();
+        when(s3StorageService.upload(eq(key), eq("{}"), eq("application/json"))).thenAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            // NOWAIT fails at once if a worker transaction still holds the row
+            assertThat(jdbcTemplate.queryForObject("SELECT lease_token IS NOT NULL FROM s3_outbox WHERE id = ? FOR UPDATE NOWAIT", Boolean.class, id)).isTrue();
+            checked.set(true);
+            return "etag";
+        });
+
+        assertThat(outbox.dispatchDue()).isEqualTo(1);
+
+        assertThat(checked).isTrue();
+        assertThat(outboxRepository.findById(id)).isEmpty();
+    }
+
+    @Test
+    void failingDeleteIsRetriedThenDeadLettered() {
+        String key = "configs/sha256/gone.json";
+        Long id = save(S3OutboxOperation.DELETE, key).getId();
+        when(s3StorageService.deleteAll(anyCollection())).thenReturn(Map.of(key, "AccessDenied"));
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            assertThat(outbox.dispatchDue()).isEqualTo(1);
+            // Skip the backoff
+            jdbcTemplate.update("UPDATE s3_outbox SET next_attempt_at = now() WHERE id = ?", id);
+        }
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT attempts, dead_lettered_at, lease_token, last_error FROM s3_outbox WHERE id = ?", id);
+        assertThat(row.get("attempts")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(row.get("dead_lettered_at")).isNotNull();
+        assertThat(row.get("lease_token")).isNull();
+        assertThat(row.get("last_error")).isEqualTo("AccessDenied");
+
+        // Dead letters are kept but no longer claimed
+        assertThat(outbox.dispatchDue()).isZero();
+        verify(s3StorageService, times(MAX_ATTEMPTS)).deleteAll(anyCollection());
+    }
+
+    @Test
+    void keyLeasedByAnotherWorkerWaitsForTheLease() {
+        String key = "configs/sha256/busy.json";
+        S3OutboxEntry put = save(S3OutboxOperation.PUT, key);
+        Long delete = save(S3OutboxOperation.DELETE, key).getId();
+        // Another worker holds the put
+        jdbcTemplate.update("UPDATE s3_outbox SET lease_token = 'other', next_attempt_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().plusSeconds(300)), put.getId());
+
+        assertThat(outbox.dispatchDue()).isZero();
+        verify(s3StorageService, never()).deleteAll(anyCollection());
+
+        // The lease expires without the other worker completing: both entries are claimed again, and since the key
+        // is no longer referenced the put is skipped and the delete applied
+        jdbcTemplate.update("UPDATE s3_outbox SET next_attempt_at = now() WHERE id = ?", put.getId());
+        when(s3StorageService.deleteAll(anyCollection())).thenReturn(Map.of());
+
+        assertThat(outbox.dispatchDue()).isEqualTo(2);
+
+        verify(s3StorageService).deleteAll(List.of(key));
+        verify(s3StorageService, never()).upload(any(), any(String.class), any());
+        assertThat(outboxRepository.findAllById(List.of(put.getId(), delete))).isEmpty();
+    }
+
+    @Test
+    void copyToAReferencedKeyIsMadeBeforeItsSourceIsDeleted() {
+        String key = "configs/sha256/copied.json";
+        jdbcTemplate.update("INSERT INTO config_objects (s3_key, content_hash, content_type, size_bytes, ref_count, created_at) " +
+                "VALUES (?, 'copied', 'application/json', 2, 1, now())", key);
+        outboxRepository.save(copy("configs/staging/kept.json", key));
+        // Released before the copy was applied: only its source is deleted
+        outboxRepository.save(copy("configs/staging/released.json", "configs/sha256/released.json"));
+        when(s3StorageService.deleteAll(anyCollection())).thenReturn(Map.of());
+
+        assertThat(outbox.dispatchDue()).isEqualTo(2);
+
+        InOrder order = inOrder(s3StorageService);
+        order.verify(s3StorageService).copy("configs/staging/kept.json", key);
+        order.verify(s3StorageService).deleteAll(argThat(keys -> Set.copyOf(keys).equals(Set.of("configs/staging/kept.json", "configs/staging/released.json"))));
+        verify(s3StorageService, never()).copy(eq("configs/staging/released.json"), any());
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void failedCopyKeepsItsSourceForTheRetry() {
+        String key = "configs/sha256/retried.json";
+        jdbcTemplate.update("INSERT INTO config_objects (s3_key, content_hash, content_type, size_bytes, ref_count, created_at) " +
+                "VALUES (?, 'retried', 'application/json', 2, 1, now())", key);
+        Long id = outboxRepository.save(copy("configs/staging/retried.json", key)).getId();
+        doThrow(new IllegalStateException("SlowDown")).when(s3StorageService).copy(any(), any());
+
+        assertThat(outbox.dispatchDue()).isEqualTo(1);
+
+        verify(s3StorageService, never()).deleteAll(anyCollection());
+        assertThat(jdbcTemplate.queryForObject("SELECT last_error FROM s3_outbox WHERE id = ?", String.class, id)).isEqualTo("SlowDown");
+    }
+
+    @Test
+    void cleanupReservationIsDroppedOnCommitAndDueAtOnceOnRollback() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        when(s3StorageService.deleteAll(anyCollection())).thenReturn(Map.of());
+
+        // Reserved on their own: still there, and not yet due, when the caller's transaction rolls back
+        List<Long> kept = transaction.execute(status -> outbox.scheduleCleanup(List.of("pipelines/copies/kept.json")));
+        List<Long> orphaned = transaction.execute(status -> {
+            List<Long> ids = outbox.scheduleCleanup(List.of("pipelines/copies/orphaned.json"));
+            status.setRollbackOnly();
+            return ids;
+        });
+        assertThat(outboxRepository.findAllById(orphaned)).hasSize(1);
+        assertThat(outbox.dispatchDue()).isZero();
+
+        transaction.executeWithoutResult(status -> outbox.cancelCleanup(kept));
+        transaction.executeWithoutResult(status -> {
+            outbox.cancelCleanup(orphaned);
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRepository.findAllById(kept)).isEmpty();
+        // The rollback brings the reservation forward and requests a dispatch
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxRepository.findAllById(orphaned)).isEmpty());
+        verify(s3StorageService).deleteAll(List.of("pipelines/copies/orphaned.json"));
+    }
+
+    private static S3OutboxEntry copy(String sourceKey, String destinationKey) {
+        return S3OutboxEntry.builder()
+                .operation(S3OutboxOperation.COPY)
+                .s3Key(destinationKey)
+                .sourceKey(sourceKey)
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+
+    private S3OutboxEntry save(S3OutboxOperation operation, String key) {
+        return outboxRepository.save(S3OutboxEntry.builder()
+                .operation(operation)
+                .s3Key(key)
+                .payload(operation == S3OutboxOperation.PUT ? "{}" : null)
+                .contentType(operation == S3OutboxOperation.PUT ? "application/json" : null)
+                .nextAttemptAt(Instant.now())
+                .build());
+    }
+}
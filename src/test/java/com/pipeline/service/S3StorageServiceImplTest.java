@@ -0,0 +1,77 @@
+package com.pipeline.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Against a local S3 stand-in that counts the bytes moved through the client.
+ */
+class S3StorageServiceImplTest {
+
+    private static final int CONFIG_BYTES = 256 * 1024;
+
+    private LocalS3 localS3;
+    private S3Client s3Client;
+    private S3StorageServiceImpl s3StorageService;
+
+    @BeforeEach
+    void setUp() {
+        localS3 = new LocalS3();
+        s3Client = localS3.client();
+        s3StorageService = new S3StorageServiceImpl(s3Client, 8, 4, 8 * 1024 * 1024);
+        ReflectionTestUtils.setField(s3StorageService, "bucket", LocalS3.BUCKET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3StorageService.shutdown();
+        s3Client.close();
+        localS3.close();
+    }
+
+    @Test
+    void copyAllCopiesServerSideWithoutMovingConfigBytes() {
+        Map<String, String> copies = new LinkedHashMap<>();
+        IntStream.range(0, 10).forEach(i -> {
+            String key = "pipelines/1/steps/" + i + ".yaml";
+            localS3.put(key, config((byte) ('a' + i)));
+            copies.put(key, "pipelines/copies/" + key);
+        });
+        localS3.resetCounters();
+
+        List<String> failed = s3StorageService.copyAll(copies);
+
+        assertThat(failed).isEmpty();
+        assertThat(localS3.bytesDownloaded()).isZero();
+        assertThat(localS3.bytesUploaded()).isZero();
+        copies.forEach((source, destination) -> assertThat(localS3.get(destination)).isEqualTo(localS3.get(source)));
+    }
+
+    @Test
+    void streamOfUnknownLengthUnderAPartIsASinglePut() {
+        byte[] config = config((byte) 'x');
+
+        s3StorageService.upload("configs/streamed.yaml", new ByteArrayInputStream(config), -1, "text/yaml");
+
+        assertThat(localS3.get("configs/streamed.yaml")).isEqualTo(config);
+        assertThat(localS3.bytesUploaded()).isEqualTo(CONFIG_BYTES);
+    }
+
+    private static byte[] config(byte fill) {
+        byte[] config = new byte[CONFIG_BYTES];
+        Arrays.fill(config, fill);
+        return config;
+    }
+}
@@ -0,0 +1,48 @@
+package com.pipeline.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleEvaluatorTest {
+
+    private static final int WEEK_HOURS = 24 * 7;
+
+    /**
+     * countPerHour against counting every fire time, across DST changes and a half-hour zone offset
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "UTC              | * * * * * *          | 2026-03-07T10:17:42Z",
+            "UTC              | 0 */15 9-17 * * MON-FRI | 2026-03-07T10:17:42Z",
+            "America/New_York | */20 * * * * *       | 2026-03-07T10:17:42Z",
+            "America/New_York | 0 30 1 * * *         | 2026-10-30T22:05:00Z",
+            "America/New_York | 0 */7 0-3 * * *      | 2026-10-30T22:05:00Z",
+            "Asia/Kolkata     | 0 */10 * * * *       | 2026-03-07T10:17:42Z",
+            "Europe/London    | 0 0 * * * *          | 2026-03-28T20:00:00Z",
+            "UTC              | 0 0 0 1 * *          | 2026-03-07T10:17:42Z"
+    })
+    void countPerHourMatchesCountingEveryFire(String zone, String cronExpression, String nowText) {
+        ScheduleEvaluator evaluator = new ScheduleEvaluator(zone);
+        CronExpression cron = CronExpression.parse(cronExpression.trim());
+        Instant now = Instant.parse(nowText.trim());
+        Instant start = now.truncatedTo(ChronoUnit.HOURS);
+        Instant end = start.plus(WEEK_HOURS, ChronoUnit.HOURS);
+
+        int[] expected = new int[WEEK_HOURS];
+        for (Instant fire = evaluator.next(cron, now); fire != null && fire.isBefore(end); fire = evaluator.next(cron, fire)) {
+            expected[(int) Duration.between(start, fire).toHours()]++;
+        }
+
+        int[] counts = new int[WEEK_HOURS];
+        evaluator.countPerHour(cron, evaluator.next(cron, now), start, counts);
+
+        assertThat(counts).containsExactly(expected);
+    }
+}
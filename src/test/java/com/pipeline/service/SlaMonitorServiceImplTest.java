@@ -0,0 +1,64 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ApprovalStatus;
+import com.pipeline.enums.SlaStatus;
+import com.pipeline.repository.DEApprovalRequestRepository;
+import com.pipeline.repository.projection.SlaDeadlineView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlaMonitorServiceImplTest {
+
+    private final DEApprovalRequestRepository approvalRepository = mock(DEApprovalRequestRepository.class);
+
+    @Test
+    void breachedRequestDecidedElsewhereLeavesTheCountOnRecheck() {
+        // Recheck interval 0: a breached timer is due again straight away
+        SlaMonitorServiceImpl monitor = new SlaMonitorServiceImpl(approvalRepository, event -> { }, 30, 0);
+        Instant now = Instant.now();
+        SlaDeadlineView breached = view(1L, now.minus(Duration.ofHours(1)));
+        SlaDeadlineView nearBreach = view(2L, now.plus(Duration.ofMinutes(10)));
+        when(approvalRepository.findByStatusAndSlaDeadlineIsNotNull(ApprovalStatus.PENDING)).thenReturn(List.of(breached, nearBreach));
+        monitor.load();
+        assertThat(monitor.getBreachedCount()).isEqualTo(1);
+        assertThat(monitor.getNearBreachCount()).isEqualTo(1);
+
+        // Still pending: stays breached
+        when(approvalRepository.findByIdInAndStatus(anyCollection(), eq(ApprovalStatus.PENDING))).thenReturn(List.of(breached));
+        monitor.fireDue();
+        assertThat(monitor.getBreachedCount()).isEqualTo(1);
+
+        // Decided by another instance, without an event reaching this one
+        when(approvalRepository.findByIdInAndStatus(anyCollection(), eq(ApprovalStatus.PENDING))).thenReturn(List.of());
+        monitor.fireDue();
+        assertThat(monitor.getBreachedCount()).isZero();
+        assertThat(monitor.getNearBreachCount()).isEqualTo(1);
+    }
+
+    @Test
+    void statusFollowsTheWarningWindow() {
+        SlaMonitorServiceImpl monitor = new SlaMonitorServiceImpl(approvalRepository, event -> { }, 30, 5);
+        Instant deadline = Instant.parse("2026-01-01T12:00:00Z");
+
+        assertThat(monitor.statusAt(deadline, deadline.minus(Duration.ofMinutes(31)))).isEqualTo(SlaStatus.ON_TRACK);
+        assertThat(monitor.statusAt(deadline, deadline.minus(Duration.ofMinutes(30)))).isEqualTo(SlaStatus.NEAR_BREACH);
+        assertThat(monitor.statusAt(deadline, deadline)).isEqualTo(SlaStatus.BREACHED);
+    }
+
+    private static SlaDeadlineView view(Long id, Instant slaDeadline) {
+        SlaDeadlineView view = mock(SlaDeadlineView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getPipelineId()).thenReturn("pipeline-" + id);
+        when(view.getSlaDeadline()).thenReturn(slaDeadline);
+        return view;
+    }
+}
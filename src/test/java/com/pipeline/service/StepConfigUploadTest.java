@@ -0,0 +1,172 @@
+package com.pipeline.service;
+
+import com.pipeline.TestPostgres;
+import com.pipeline.dto.pipeline.PipelineRequestDto;
+import com.pipeline.dto.pipeline.PipelineStepDto;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.ScheduleType;
+import com.pipeline.enums.StepType;
+import com.pipeline.repository.PipelineStepRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /pipelines/{id}/steps/{stepOrder}/config validates the body as it streams to S3: an invalid config is a 400
+ * and one over the parse limits a 413, and in both cases the upload to S3 is never completed. A valid config is
+ * staged and copied server-side to the content-addressed key of its normalized form, and indexed for search from
+ * the same parse.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "pipeline.config-validation.max-document-bytes=1024",
+        "aws.s3.bucket=test", "aws.region=us-east-1", "aws.accessKeyId=test", "aws.secretAccessKey=test",
+        "airflow.base.url=http://localhost:1"
+})
+@AutoConfigureMockMvc
+class StepConfigUploadTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PipelineService pipelineService;
+
+    @Autowired
+    private ConfigStorageService configStorageService;
+
+    @Autowired
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Autowired
+    private ConfigSearchService configSearchService;
+
+    @Autowired
+    private S3StorageService s3StorageService;
+
+    private Long pipelineId;
+    private String configPath;
+
+    @BeforeEach
+    void setUp() {
+        PipelineStepDto step = new PipelineStepDto();
+        step.setStepName("check orders");
+        step.setStepType(StepType.DATA_VALIDATION);
+        step.setStepOrder(1);
+        step.setConfigType(ConfigType.JSON);
+
+        PipelineRequestDto dto = new PipelineRequestDto();
+        dto.setName("upload-" + UUID.randomUUID());
+        dto.setEnabled(false);
+        dto.setScheduleType(ScheduleType.MANUAL);
+        dto.setSteps(List.of(step));
+        // No config yet, so nothing is written to S3 until the upload
+        pipelineId = pipelineService.createPipeline(dto).getId();
+        configPath = "/pipelines/" + pipelineId + "/steps/1/config";
+    }
+
+    @Test
+    void validConfigIsStagedAndCopiedToItsContentAddressedKey() throws Exception {
+        String content = "{\"rules\": [{\"column\": \"total\"}]}";
+        String key = configStorageService.keyOf(content, ConfigType.JSON);
+
+        mockMvc.perform(put(configPath).contentType(MediaType.APPLICATION_JSON).content(content + "\r\n"))
+                .andExpect(status().isNoContent());
+
+        verify(s3Client).putObject(argThat((PutObjectRequest request) -> request.key().startsWith("configs/staging/")
+                && "application/json".equals(request.contentType())), any(RequestBody.class));
+        // Copied while staging, and again by the outbox since the content is new
+        verify(s3Client, atLeastOnce()).copyObject(argThat((CopyObjectRequest request) -> request.sourceKey().startsWith("configs/staging/")
+                && key.equals(request.destinationKey())));
+        assertThat(pipelineStepRepository.findByPipelineIdAndStepOrder(pipelineId, 1).orElseThrow().getConfigS3Key()).isEqualTo(key);
+    }
+
+    @Test
+    void uploadedConfigIsSearchableAndReadBackFromS3ByARebuildElsewhere() throws Exception {
+        String content = "{\"rules\": [{\"column\": \"refund_total\", \"check\": \"not_null\"}]}";
+        mockMvc.perform(put(configPath).contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(status().isNoContent());
+
+        assertThat(configSearchService.search("column:refund_total", 10).getHits())
+                .extracting(hit -> hit.getPipelineId() + "/" + hit.getStepOrder()).containsExactly(pipelineId + "/1");
+
+        // Another instance never saw the upload: its rebuild reads the config from S3
+        String key = configStorageService.keyOf(content, ConfigType.JSON);
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> key.equals(request.key()))))
+                .thenAnswer(invocation -> new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                        AbortableInputStream.create(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))));
+        ConfigSearchServiceImpl elsewhere = new ConfigSearchServiceImpl(pipelineStepRepository, s3StorageService);
+        elsewhere.rebuild();
+
+        assertThat(elsewhere.search("check:not_null refund_total", 10).getHits())
+                .extracting(hit -> hit.getPipelineId() + "/" + hit.getStepOrder()).containsExactly(pipelineId + "/1");
+    }
+
+    @Test
+    void invalidConfigIsABadRequestAndNeverUploaded() throws Exception {
+        mockMvc.perform(put(configPath).contentType(MediaType.APPLICATION_JSON).content("{\"rules\": [{\"column\": \"total\"}, 5]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("$.rules[1]")));
+
+        assertNothingUploaded();
+    }
+
+    @Test
+    void configOverTheParseLimitIsTooLargeAndNeverUploaded() throws Exception {
+        String rules = String.join(", ", Collections.nCopies(200, "{\"column\": \"total\"}"));
+
+        mockMvc.perform(put(configPath).contentType("application/yaml").content("rules: [" + rules + "]\n"))
+                .andExpect(status().isPayloadTooLarge());
+        mockMvc.perform(put(configPath).contentType(MediaType.APPLICATION_JSON).content("{\"rules\": [" + rules + "]}"))
+                .andExpect(status().isPayloadTooLarge());
+
+        assertNothingUploaded();
+    }
+
+    private void assertNothingUploaded() {
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+}
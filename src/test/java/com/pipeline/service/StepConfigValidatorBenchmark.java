@@ -0,0 +1,119 @@
+package com.pipeline.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.StepType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Validation timings for typical transformation configs, as a String and streamed the way uploads are. Prints the
+ * median and p90 of repeated runs after warm-up and asserts nothing; run with mvn test -Pbenchmark. Behaviour is
+ * covered by StepConfigValidatorTest. Settings match application.properties.
+ */
+class StepConfigValidatorBenchmark {
+
+    private static final long BUDGET_MS = 50;
+
+    private static final int WARM_UP_RUNS = 20;
+    private static final int RUNS = 31;
+
+    private final StepConfigValidator validator = new StepConfigValidator(BUDGET_MS, 64 * 1024 * 1024, 200, 4, 1024 * 1024);
+
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
+    }
+
+    @Test
+    void validateJson() throws JsonProcessingException {
+        String content = config(new ObjectMapper(), 1024 * 1024);
+        report("JSON string", content.length(), time(() -> validator.validate(1, StepType.DATA_TRANSFORMATION, ConfigType.JSON, content)));
+    }
+
+    @Test
+    void validateYaml() throws JsonProcessingException {
+        String content = config(new YAMLMapper(), 1024 * 1024);
+        report("YAML string", content.length(), time(() -> validator.validate(1, StepType.DATA_TRANSFORMATION, ConfigType.YAML, content)));
+    }
+
+    @Test
+    void validateStreamedJson() throws JsonProcessingException {
+        byte[] content = config(new ObjectMapper(), 16 * 1024 * 1024).getBytes(StandardCharsets.UTF_8);
+        report("streamed JSON", content.length, time(() -> {
+            try (InputStream in = validator.validating(1, StepType.DATA_TRANSFORMATION, ConfigType.JSON, new ByteArrayInputStream(content))) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        }));
+    }
+
+    private interface Run {
+        void run() throws IOException;
+    }
+
+    private static long[] time(Run run) {
+        try {
+            for (int i = 0; i < WARM_UP_RUNS; i++) {
+                run.run();
+            }
+            long[] nanos = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                run.run();
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            return nanos;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void report(String what, int bytes, long[] nanos) {
+        System.out.printf("Validating a %,d byte %s config: p50 %.1f ms, p90 %.1f ms (budget %d ms)%n",
+                bytes, what, nanos[RUNS / 2] / 1e6, nanos[RUNS * 9 / 10] / 1e6, BUDGET_MS);
+    }
+
+    /**
+     * A typical transformation config (tables of typed columns with options), grown to just under maxBytes
+     */
+    private static String config(ObjectMapper mapper, int maxBytes) throws JsonProcessingException {
+        int tableBytes = mapper.writeValueAsString(table(0)).getBytes(StandardCharsets.UTF_8).length;
+        int tables = maxBytes / tableBytes + 1;
+        String content;
+        do {
+            content = mapper.writeValueAsString(Map.of("transformations", IntStream.range(0, tables--).mapToObj(StepConfigValidatorBenchmark::table).toList()));
+        } while (content.getBytes(StandardCharsets.UTF_8).length > maxBytes);
+        return content;
+    }
+
+    private static Map<String, Object> table(int index) {
+        Map<String, Object> table = new LinkedHashMap<>();
+        table.put("name", "table_" + index);
+        table.put("source", "s3://landing/raw/table_" + index + "/");
+        table.put("partitionBy", List.of("event_date", "region"));
+        table.put("columns", IntStream.range(0, 12).mapToObj(column -> {
+            Map<String, Object> definition = new LinkedHashMap<>();
+            definition.put("name", "column_" + column);
+            definition.put("type", column % 3 == 0 ? "string" : column % 3 == 1 ? "decimal(18,4)" : "timestamp");
+            definition.put("nullable", column % 2 == 0);
+            definition.put("default", column % 4 == 0 ? null : column * 1.5);
+            return definition;
+        }).toList());
+        table.put("options", Map.of("dedupe", true, "maxErrors", 100, "compression", "snappy"));
+        return table;
+    }
+}
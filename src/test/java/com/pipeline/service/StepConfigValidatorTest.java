@@ -0,0 +1,148 @@
+package com.pipeline.service;
+
+import com.pipeline.enums.ConfigType;
+import com.pipeline.enums.StepType;
+import com.pipeline.exception.ConfigTooLargeException;
+import com.pipeline.exception.InvalidStepConfigException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StepConfigValidatorTest {
+
+    private static final int MAX_DOCUMENT_BYTES = 64 * 1024 * 1024;
+
+    private final StepConfigValidator validator = new StepConfigValidator(50, MAX_DOCUMENT_BYTES, 20, 2, 256 * 1024);
+
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
+    }
+
+    @Test
+    void stepTypeSchemasRequireTheirCoreKeys() {
+        validator.validate(1, StepType.DATA_INGESTION, ConfigType.JSON, "{\"source\": \"s3\", \"bucket\": \"orders\"}");
+        validator.validate(1, StepType.DATA_TRANSFORMATION, ConfigType.YAML, "query: select 1\n");
+        validator.validate(1, StepType.NOTIFICATION, ConfigType.YAML, "channel: slack\nrecipients:\n  - data-team\n");
+        validator.validate(1, StepType.API_CALL, ConfigType.JSON, "{\"url\": \"https://example.com\", \"method\": \"POST\"}");
+
+        assertInvalid(StepType.DATA_INGESTION, "{\"bucket\": \"orders\"}", "$: required property 'source' not found");
+        assertInvalid(StepType.DATA_TRANSFORMATION, "{\"table\": \"orders\"}", "$: required property 'transformations' not found");
+        assertInvalid(StepType.API_CALL, "{\"url\": \"https://example.com\", \"method\": \"FETCH\"}", "$.method:");
+        assertInvalid(StepType.MACHINE_LEARNING, "[\"model\"]", "$: array found, object expected");
+    }
+
+    @Test
+    void walkedArraysReportItemPathsAndCounts() {
+        assertInvalid(StepType.DATA_VALIDATION, "{\"rules\": [{\"column\": \"id\"}, 5]}", "$.rules[1]: integer found, object expected");
+        assertInvalid(StepType.DATA_VALIDATION, "{\"rules\": []}", "$.rules: must have at least 1 items but found 0");
+        assertInvalid(StepType.NOTIFICATION, "{\"channel\": \"email\", \"recipients\": [\"a\", \"\"]}", "$.recipients[1]:");
+    }
+
+    @Test
+    void anyWellFormedDocumentPassesWithoutAStepType() {
+        validator.validate(1, null, ConfigType.JSON, "[1, 2, 3]");
+        validator.validate(1, null, ConfigType.JSON, "\"plain\"");
+        validator.validate(1, null, ConfigType.YAML, "- a\n- b\n");
+    }
+
+    @Test
+    void malformedDocumentsAreInvalid() {
+        assertThatThrownBy(() -> validator.validate(1, null, ConfigType.JSON, "{\"a\": 1, \"a\": 2}"))
+                .isInstanceOf(InvalidStepConfigException.class).hasMessageContaining("Duplicate field 'a'");
+        assertThatThrownBy(() -> validator.validate(1, null, ConfigType.JSON, "{\"a\": 1} {\"b\": 2}"))
+                .isInstanceOf(InvalidStepConfigException.class).hasMessageContaining("unexpected content after the config");
+        assertThatThrownBy(() -> validator.validate(1, null, ConfigType.JSON, "{\"a\": "))
+                .isInstanceOf(InvalidStepConfigException.class);
+        assertThatThrownBy(() -> validator.validate(1, null, ConfigType.JSON, " "))
+                .isInstanceOf(InvalidStepConfigException.class).hasMessageContaining("the config is empty");
+    }
+
+    @Test
+    void parseLimitsRejectTheConfigAsTooLarge() {
+        StepConfigValidator limited = new StepConfigValidator(50, 1024, 5, 1, 64 * 1024);
+        try {
+            String list = IntStream.range(0, 300).mapToObj(Integer::toString).toList().toString();
+            assertThatThrownBy(() -> limited.validate(1, null, ConfigType.JSON, list)).isInstanceOf(ConfigTooLargeException.class);
+            String yaml = String.join("", Collections.nCopies(300, "- item\n"));
+            assertThatThrownBy(() -> limited.validate(1, null, ConfigType.YAML, yaml)).isInstanceOf(ConfigTooLargeException.class);
+            assertThatThrownBy(() -> limited.validate(1, null, ConfigType.JSON, "[[[[[[[1]]]]]]]")).isInstanceOf(ConfigTooLargeException.class);
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    @Test
+    void validatingStreamPassesTheBodyThroughUnchanged() throws Exception {
+        // Several MiB of rules, far more than the stream ever holds at once
+        InputStream body = rules(100_000, "{\"column\": \"c\", \"check\": \"not_null\"}");
+        MessageDigest expected = MessageDigest.getInstance("SHA-256");
+        MessageDigest actual = MessageDigest.getInstance("SHA-256");
+
+        try (ValidatingInputStream validating = validator.validating(1, StepType.DATA_VALIDATION, ConfigType.JSON, new DigestInputStream(body, expected))) {
+            try (InputStream copy = new DigestInputStream(validating, actual)) {
+                copy.transferTo(OutputStream.nullOutputStream());
+            }
+            assertThat(validating.failure()).isNull();
+        }
+
+        assertThat(actual.digest()).isEqualTo(expected.digest());
+    }
+
+    @Test
+    void validatingStreamFailsTheReadThatReachesTheEnd() throws Exception {
+        InputStream body = rules(10_000, "5");
+
+        try (ValidatingInputStream validating = validator.validating(1, StepType.DATA_VALIDATION, ConfigType.JSON, body)) {
+            assertThatThrownBy(() -> validating.transferTo(OutputStream.nullOutputStream())).isInstanceOf(IOException.class);
+            assertThat(validating.failure()).isInstanceOf(InvalidStepConfigException.class)
+                    .hasMessageContaining("$.rules[0]: integer found, object expected");
+        }
+    }
+
+    @Test
+    void validatingStreamReportsParseLimits() throws Exception {
+        StepConfigValidator limited = new StepConfigValidator(50, 1024, 20, 1, 64 * 1024);
+        try (ValidatingInputStream validating = limited.validating(1, StepType.DATA_VALIDATION, ConfigType.JSON, rules(1_000, "{}"))) {
+            assertThatThrownBy(() -> validating.transferTo(OutputStream.nullOutputStream())).isInstanceOf(IOException.class);
+            assertThat(validating.failure()).isInstanceOf(ConfigTooLargeException.class);
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    private void assertInvalid(StepType stepType, String content, String error) {
+        assertThatThrownBy(() -> validator.validate(1, stepType, ConfigType.JSON, content))
+                .isInstanceOf(InvalidStepConfigException.class)
+                .hasMessageContaining(error);
+        assertThatCode(() -> validator.validate(1, null, ConfigType.JSON, content)).doesNotThrowAnyException();
+    }
+
+    /**
+     * {"rules": [rule, rule, ...]}, generated as it is read
+     */
+    private static InputStream rules(int count, String rule) {
+        List<InputStream> parts = IntStream.range(0, count)
+                .mapToObj(i -> (InputStream) new ByteArrayInputStream(((i == 0 ? "" : ", ") + rule).getBytes(StandardCharsets.UTF_8)))
+                .toList();
+        return new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream("{\"rules\": [".getBytes(StandardCharsets.UTF_8)),
+                new SequenceInputStream(Collections.enumeration(parts)),
+                new ByteArrayInputStream("]}".getBytes(StandardCharsets.UTF_8)))));
+    }
+}